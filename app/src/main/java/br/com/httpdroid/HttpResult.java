@@ -0,0 +1,149 @@
+package br.com.httpdroid;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+
+import br.com.httpdroid.enums.StatusCode;
+import br.com.httpdroid.interfaces.IConverter;
+
+import okhttp3.Headers;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Resultado imutável de uma única requisição: status, headers, corpo desserializado e tempos.
+ * Cada chamada gera o seu próprio resultado, então uma mesma instância de HttpService pode ser
+ * utilizada por várias threads ao mesmo tempo.
+ *
+ * O corpo é desserializado durante a chamada, e não no primeiro getBody(): a leitura é feita em
+ * streaming direto do socket e a conexão volta ao pool antes do resultado ser entregue. Adiar a
+ * desserialização exigiria manter a conexão presa até o getBody() ou copiar todo o corpo para a
+ * memória. Assim os erros de conversão surgem na própria chamada e o resultado não precisa de
+ * sincronização.
+ */
+public final class HttpResult<T> {
+
+    private final Response response;
+    private final T body;
+    private final String responseString;
+    private final IConverter converter;
+
+    /**
+     * Tempo gasto na desserialização do corpo, em nanossegundos
+     */
+    private final long decodeTimeNanos;
+
+    /**
+     * O servidor respondeu 304 e o corpo é o objeto guardado na resposta anterior
+     */
+    private final boolean notModified;
+
+    HttpResult(Response response, T body, String responseString, IConverter converter, long decodeTimeNanos) {
+        this(response, body, responseString, converter, decodeTimeNanos, false);
+    }
+
+    private HttpResult(Response response, T body, String responseString, IConverter converter,
+                       long decodeTimeNanos, boolean notModified) {
+        this.response = response;
+        this.body = body;
+        this.responseString = responseString;
+        this.converter = converter;
+        this.decodeTimeNanos = decodeTimeNanos;
+        this.notModified = notModified;
+    }
+
+    /**
+     * Resultado de uma resposta 304: mantém o corpo já desserializado deste resultado,
+     * com o status, headers e tempos da nova resposta
+     */
+    HttpResult<T> revalidated(Response notModifiedResponse) {
+        return new HttpResult<>(notModifiedResponse, this.body, this.responseString, this.converter, 0, true);
+    }
+
+    /**
+     * Converte a resposta em qualquer outro tipo (Diferente do returnType).
+     * Requer isResponseStringEnabled(true) no serviço que gerou o resultado
+     */
+    public <R> R convertTo(Type type) {
+        if (this.responseString == null) {
+            throw new IllegalStateException("Habilite isResponseStringEnabled(true) para converter a resposta");
+        }
+        try {
+            return this.converter.fromJson(new StringReader(this.responseString), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao converter a resposta", e);
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public T getBody() {
+        return this.body;
+    }
+
+    public int getStatusCode() {
+        return this.response.code();
+    }
+
+    /**
+     * Também é verdadeiro quando o servidor respondeu 304 e o corpo veio do cache condicional
+     */
+    public boolean isSuccessful() {
+        return this.notModified || this.response.isSuccessful();
+    }
+
+    public boolean isNotModified() {
+        return this.notModified;
+    }
+
+    /**
+     * Status da resposta, ou null quando o código não está mapeado em StatusCode
+     */
+    public StatusCode getStatus() {
+        return StatusCode.fromCode(this.response.code());
+    }
+
+    public Headers getHeaders() {
+        return this.response.headers();
+    }
+
+    public String getHeader(String header, String defaultValue) {
+        return this.response.header(header, defaultValue);
+    }
+
+    /**
+     * Resposta original do OkHttp. O corpo já foi consumido e fechado
+     */
+    public Response getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Retorna null a menos que isResponseStringEnabled(true) tenha sido configurado
+     */
+    public String getResponseString() {
+        return this.responseString;
+    }
+
+    public long getSentRequestAtMillis() {
+        return this.response.sentRequestAtMillis();
+    }
+
+    public long getReceivedResponseAtMillis() {
+        return this.response.receivedResponseAtMillis();
+    }
+
+    /**
+     * Tempo entre o envio da requisição e o recebimento dos headers da resposta
+     */
+    public long getNetworkTimeMillis() {
+        return this.response.receivedResponseAtMillis() - this.response.sentRequestAtMillis();
+    }
+
+    public long getDecodeTimeNanos() {
+        return this.decodeTimeNanos;
+    }
+}
@@ -1,20 +1,68 @@
 package br.com.httpdroid;
 
 import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import br.com.httpdroid.async.AsyncExecutors;
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.batch.BatchItem;
+import br.com.httpdroid.batch.BatchResult;
+import br.com.httpdroid.breaker.Resilience;
+import br.com.httpdroid.cache.ConditionalCache;
+import br.com.httpdroid.cache.MemoryCache;
+import br.com.httpdroid.cache.SingleFlight;
+import br.com.httpdroid.compression.Compression;
+import br.com.httpdroid.converter.GsonConverter;
+import br.com.httpdroid.converter.JsonRequestBody;
+import br.com.httpdroid.hedge.HedgePolicy;
 import br.com.httpdroid.enums.StatusCode;
+import br.com.httpdroid.id.IdAccessor;
+import br.com.httpdroid.interfaces.IAsyncMethods;
+import br.com.httpdroid.interfaces.IBatchMethods;
+import br.com.httpdroid.interfaces.IConverter;
+import br.com.httpdroid.interfaces.IHttpCallback;
+import br.com.httpdroid.interfaces.IHttpMetrics;
+import br.com.httpdroid.interfaces.IIdExtractor;
 import br.com.httpdroid.interfaces.IMethods;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+import br.com.httpdroid.interfaces.IProgressListener;
+import br.com.httpdroid.interfaces.IStreamCallback;
+import br.com.httpdroid.interfaces.ITransformer;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import br.com.httpdroid.page.PagedIterator;
+import br.com.httpdroid.pool.ClientConfig;
+import br.com.httpdroid.pool.ConnectionWarmUp;
+import br.com.httpdroid.pool.HttpClientPool;
+import br.com.httpdroid.retry.RetryPolicy;
+import br.com.httpdroid.stream.JsonStream;
+import br.com.httpdroid.transfer.BandwidthLimiter;
+import br.com.httpdroid.transfer.FileDownload;
+import br.com.httpdroid.transfer.ResumableUpload;
+import br.com.httpdroid.url.UrlTemplate;
 import okhttp3.Authenticator;
 import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dns;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
@@ -23,11 +71,13 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Sink;
 
 /**
  * Criado por Felipe Samuel em 07/01/2019.
  */
-public class HttpService<Object> implements IMethods<Object> {
+public class HttpService<Object> implements IMethods<Object>, IAsyncMethods<Object>, IBatchMethods<Object> {
 
     private String baseURL = "";
     private String endPoint = "";
@@ -39,14 +89,38 @@ public class HttpService<Object> implements IMethods<Object> {
      */
     private String customUrl = "";
 
+    /**
+     * URL base e endpoint já analisados no build(), utilizados para montar todas as requisições
+     */
+    private HttpUrl baseHttpUrl;
+    private UrlTemplate endPointTemplate;
+    private UrlTemplate batchEndPointTemplate;
+
+    /**
+     * Valores dos parâmetros de caminho do endpoint. Ex: {userId} em "users/{userId}/posts"
+     */
+    private Map<String, String> pathParams = new HashMap<>();
+
 
     private OkHttpClient http;
     private MediaType mediaType;
-    private String responseStringReturned;
+
+    /**
+     * Mantém o corpo da resposta em uma String após a desserialização. Necessário apenas para
+     * utilizar getResponseString() e convertResponseTo(), pois dobra o consumo de memória
+     */
+    private boolean responseStringEnabled = false;
+
+    /**
+     * Envia Content-Length nos corpos JSON. Por padrão o JSON é serializado direto no socket
+     * com Transfer-Encoding: chunked, sem calcular o tamanho antes
+     */
+    private boolean contentLengthEnabled = false;
     /**
-     * Propriedade Gson que será utilizada para realizar a serialização dos objetos
+     * Conversor utilizado na serialização dos objetos enviados e recebidos.
+     * Por padrão é um GsonConverter
      */
-    private Gson gson;
+    private IConverter converter;
 
     /**
      * Nome do campo a ser enviado no método de upload
@@ -59,11 +133,16 @@ public class HttpService<Object> implements IMethods<Object> {
     private String propertyIdName = "id";
     private boolean useInternalPropertyId = true;
 
+    /**
+     * Extrator de id sem reflexão. Quando informado tem prioridade sobre propertyIdName
+     */
+    private IIdExtractor<Object> idExtractor;
+
 
     /**
-     * Objeto de resposta da requisição
+     * Resultado da última chamada síncrona de cada thread
      */
-    private Response response;
+    private final ThreadLocal<HttpResult<?>> lastResult = new ThreadLocal<>();
     /**
      * Este parametro requer bastante atenção, pois será o tipo de retorno que a classe usará
      * para converter a resposta vinda do servidor. Pode ser uma lista, objeto, ou qualquer outro
@@ -71,6 +150,12 @@ public class HttpService<Object> implements IMethods<Object> {
      */
     private Type returnType;
 
+    /**
+     * Tipo de cada elemento do array retornado em stream(). Quando não informado é
+     * deduzido do returnType (ex: List<Post> resulta em Post)
+     */
+    private Type elementType;
+
     /**
      * Todos os headers que serão enviados na requisição
      */
@@ -123,59 +208,164 @@ public class HttpService<Object> implements IMethods<Object> {
     private boolean retryEnabled = false;
 
     /**
-     * Inicializa todos os objetos da classe, e cria uma instancia de OkHttp
-     * Método obrigatório!
+     * Retentativas com backoff exponencial, Retry-After e orçamento de retentativas
      */
-    public HttpService<Object> build() {
-        OkHttpClient.Builder okHttpBuilder = new OkHttpClient.Builder();
+    private RetryPolicy retryPolicy;
 
-        if (this.connectTimeout != 0) {
-            okHttpBuilder.connectTimeout(this.connectTimeout, this.timeUnit);
-        }
-        if (this.writeTimeout != 0) {
-            okHttpBuilder.writeTimeout(this.writeTimeout, this.timeUnit);
-        }
-        if (this.readTimeout != 0) {
-            okHttpBuilder.readTimeout(this.readTimeout, this.timeUnit);
-        }
-        if (this.cache != null) {
-            okHttpBuilder.cache(this.cache);
-        }
-        okHttpBuilder.retryOnConnectionFailure(this.retryEnabled);
+    /**
+     * Circuit breaker e limite adaptativo de concorrência por host
+     */
+    private Resilience resilience;
 
-        if (this.authenticator != null) {
-            okHttpBuilder.authenticator(this.authenticator);
-        }
-        if (this.interceptor != null) {
-            okHttpBuilder.addInterceptor(this.interceptor);
-        } else {
-            okHttpBuilder.addInterceptor(chain -> {
-                Request requestOriginal = chain.request();
+    /**
+     * Segunda tentativa dos GETs lentos, disparada após o percentil de latência do endpoint
+     */
+    private HedgePolicy hedgePolicy;
 
-                Request.Builder requestBuilder = requestOriginal
-                        .newBuilder()
-                        .method(requestOriginal.method(), requestOriginal.body());
+    /**
+     * Abre as conexões em segundo plano durante o build()
+     */
+    private ConnectionWarmUp warmUp;
 
-                if (filters != null) {
-                    requestBuilder.url(getUrlWithFilters());
-                }
-                for (Map.Entry<String, String> entry : headers.entrySet()) {
-                    requestBuilder.header(entry.getKey(), entry.getValue());
-                }
+    /**
+     * HTTP/2 em texto puro (h2c) sem negociação, para servidores que sabidamente o suportam.
+     * Em HTTPS o HTTP/2 já é preferido via ALPN
+     */
+    private boolean http2PriorKnowledgeEnabled = false;
 
-                Request request = requestBuilder.build();
-                return chain.proceed(request);
-            });
-        }
+    /**
+     * Resolvedor de nomes do cliente. Quando não informado o resolvedor do sistema é utilizado
+     */
+    private Dns dns;
+
+    /**
+     * Pool de clientes OkHttp. Serviços com a mesma configuração compartilham o mesmo cliente,
+     * e todos compartilham conexões, threads e sessões TLS
+     */
+    private HttpClientPool clientPool;
+
+    /**
+     * Executor onde as respostas assíncronas são desserializadas e os callbacks executados
+     */
+    private Executor callbackExecutor;
+
+    /**
+     * Cache em memória dos objetos já desserializados de get(id) e get()
+     */
+    private MemoryCache memoryCache;
+
+    /**
+     * Validadores (ETag / Last-Modified) e objetos da última resposta de cada GET, para
+     * requisições condicionais
+     */
+    private ConditionalCache conditionalCache;
+
+    /**
+     * Agrupa GETs idênticos feitos ao mesmo tempo em uma única requisição
+     */
+    private boolean requestCoalescingEnabled = false;
+    private SingleFlight singleFlight;
+
+    /**
+     * Recebe as medições de cada requisição (DNS, conexão, TLS, primeiro byte, download,
+     * desserialização). Quando não informado nenhuma medição é feita
+     */
+    private IHttpMetrics metrics;
+
+    /**
+     * Compressão das requisições e decodificação das respostas (gzip, brotli, zstd...).
+     * Quando não informada apenas o gzip transparente do OkHttp é utilizado
+     */
+    private Compression compression;
+
+    /**
+     * Número máximo de requisições simultâneas nas operações em lote
+     */
+    private int batchConcurrency = 4;
+
+    /**
+     * Envia postAll() e putAll() como uma única requisição com um array JSON no corpo.
+     * Requer suporte do servidor
+     */
+    private boolean batchCoalesceEnabled = false;
+
+    /**
+     * Endpoint utilizado pelas requisições agrupadas. Quando vazio é utilizado o endPoint
+     */
+    private String batchEndPoint = "";
+
+    /**
+     * Estratégia de paginação utilizada por paginate(), e quantas páginas são requisitadas
+     * à frente da página que está sendo consumida
+     */
+    private IPaginationStrategy paginationStrategy;
+    private int prefetchDepth = 1;
+
+    /**
+     * Configurações das transferências de arquivos. O mesmo BandwidthLimiter pode ser informado
+     * a vários serviços para que todas as transferências dividam o mesmo limite de banda
+     */
+    private int uploadChunkSize = ResumableUpload.DEFAULT_CHUNK_SIZE;
+    private BandwidthLimiter bandwidthLimiter;
+    private Executor transferExecutor;
+
+    /**
+     * Inicializa todos os objetos da classe, e obtém o cliente OkHttp do pool compartilhado
+     * Método obrigatório! Após o build() a instância pode ser compartilhada entre threads
+     */
+    public HttpService<Object> build() {
+        ClientConfig config = new ClientConfig.Builder()
+                .connectTimeout(this.connectTimeout, this.timeUnit)
+                .writeTimeout(this.writeTimeout, this.timeUnit)
+                .readTimeout(this.readTimeout, this.timeUnit)
+                .cache(this.cache)
+                .retryEnabled(this.retryEnabled)
+                .authenticator(this.authenticator)
+                .interceptor(this.interceptor)
+                .metrics(this.metrics)
+                .compression(this.compression)
+                .retryPolicy(this.retryPolicy)
+                .resilience(this.resilience)
+                .http2PriorKnowledge(this.http2PriorKnowledgeEnabled)
+                .warmUp(this.warmUp)
+                .dns(this.dns)
+                .build();
 
+        if (this.isNullOrEmpty(this.customUrl)) {
+            this.baseHttpUrl = HttpUrl.get(this.baseURL);
+            this.endPointTemplate = UrlTemplate.compile(this.endPoint);
+        } else {
+            this.baseHttpUrl = HttpUrl.get(this.customUrl);
+            this.endPointTemplate = UrlTemplate.compile(null);
+        }
+        if (this.http2PriorKnowledgeEnabled && this.baseHttpUrl.isHttps()) {
+            // Sobre TLS o HTTP/2 é negociado via ALPN; prior knowledge só vale para h2c
+            throw new IllegalStateException("isHttp2PriorKnowledgeEnabled() exige uma URL http://");
+        }
+        this.batchEndPointTemplate = UrlTemplate.compile(this.batchEndPoint);
         if (this.mediaType == null) {
             this.mediaType = getDefaultMediaType();
         }
-        if (this.gson == null) {
-            this.gson = getDefaultGsonConverter();
+        if (this.converter == null) {
+            this.converter = new GsonConverter(getDefaultGsonConverter());
+        }
+        if (this.callbackExecutor == null) {
+            this.callbackExecutor = AsyncExecutors.getDefault();
+        }
+        if (this.transferExecutor == null) {
+            this.transferExecutor = AsyncExecutors.getTransfers();
+        }
+        if (this.requestCoalescingEnabled && this.singleFlight == null) {
+            this.singleFlight = new SingleFlight();
+        }
+        if (this.clientPool == null) {
+            this.clientPool = HttpClientPool.getDefault();
         }
 
-        this.http = okHttpBuilder.build();
+        this.http = this.clientPool.getClient(config);
+        if (this.warmUp != null) {
+            this.warmUp.start(this.http, this.baseHttpUrl);
+        }
         return this;
     }
 
@@ -194,11 +384,26 @@ public class HttpService<Object> implements IMethods<Object> {
         return this;
     }
 
+    public HttpService<Object> addPathParam(String name, String value) {
+        this.pathParams.put(name, value);
+        return this;
+    }
+
+    public HttpService<Object> addPathParams(Map<String, String> pathParams) {
+        this.pathParams.putAll(pathParams);
+        return this;
+    }
+
     public HttpService<Object> addReturnType(Type type) {
         this.returnType = type;
         return this;
     }
 
+    public HttpService<Object> addElementType(Type type) {
+        this.elementType = type;
+        return this;
+    }
+
     public HttpService<Object> addMediaType(MediaType mediaType) {
         this.mediaType = mediaType;
         return this;
@@ -210,7 +415,12 @@ public class HttpService<Object> implements IMethods<Object> {
     }
 
     public HttpService<Object> addGsonConverter(Gson gson) {
-        this.gson = gson;
+        this.converter = new GsonConverter(gson);
+        return this;
+    }
+
+    public HttpService<Object> addConverter(IConverter converter) {
+        this.converter = converter;
         return this;
     }
 
@@ -267,218 +477,1233 @@ public class HttpService<Object> implements IMethods<Object> {
         return this;
     }
 
-    public HttpService<Object> isInternalPropertyIdEnabled(boolean enabled) {
-        this.useInternalPropertyId = false;
+    /**
+     * Repete falhas de rede e respostas 408, 429, 502, 503 e 504 conforme a política.
+     * POSTs só são repetidos quando não chegaram a ser processados
+     *
+     * @see RetryPolicy
+     */
+    public HttpService<Object> addRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
         return this;
     }
 
     /**
-     * For upload files only
+     * Chamadas para um host degradado falham rapidamente com CallRejectedException em vez de
+     * aguardar o readTimeout. Uma mesma instância deve ser compartilhada pelos serviços do
+     * mesmo backend
+     *
+     * @see Resilience
      */
-    public HttpService<Object> addFileFieldName(String fileFieldName) {
-        this.fileFieldName = fileFieldName;
+    public HttpService<Object> addResilience(Resilience resilience) {
+        this.resilience = resilience;
         return this;
     }
 
-    public HttpService<Object> addAditionalFormFields(Map<String, String> map) {
-        this.aditionalFormFields = map;
+    /**
+     * GETs que demoram mais que o p95 do endpoint disparam uma segunda tentativa, e vale a
+     * primeira resposta
+     *
+     * @see HedgePolicy
+     */
+    public HttpService<Object> addHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
         return this;
     }
 
-
     /**
-     * Retorna um objeto a partir do id
+     * Aquece as conexões com a URL base durante o build(), em segundo plano
+     *
+     * @see ConnectionWarmUp
      */
-    @Override
-    public Object get(int id) throws IOException {
-        Request request = new Request.Builder()
-                .url(this.getUrlWithIdParam(id))
-                .build();
-
-        this.response = http.newCall(request)
-                .execute();
-        this.responseStringReturned = this.response.body().string();
-        return this.gson.fromJson(this.responseStringReturned, this.returnType);
+    public HttpService<Object> addWarmUp(ConnectionWarmUp warmUp) {
+        this.warmUp = warmUp;
+        return this;
     }
 
     /**
-     * Retorna uma lista de objetos, levando em consideração os filtros adicionados
+     * Resolvedor de nomes utilizado nas novas conexões. CachingDns evita a consulta ao
+     * resolvedor do sistema no caminho das requisições
+     *
+     * @see br.com.httpdroid.dns.CachingDns
      */
-    @Override
-    public ArrayList<Object> get() throws IOException {
-        Request request = new Request.Builder()
-                .url(this.getUrl())
-                .build();
-
-        this.response = http.newCall(request)
-                .execute();
+    public HttpService<Object> addDns(Dns dns) {
+        this.dns = dns;
+        return this;
+    }
 
-        this.responseStringReturned = this.response.body().string();
-        return this.gson.fromJson(this.responseStringReturned, this.returnType);
+    public HttpService<Object> isHttp2PriorKnowledgeEnabled(boolean enabled) {
+        this.http2PriorKnowledgeEnabled = enabled;
+        return this;
     }
 
-    @Override
-    public Object post(Object object) throws IOException {
-        String json = this.gson.toJson(object);
-        RequestBody body = RequestBody.create(this.mediaType, json);
+    public HttpService<Object> addClientPool(HttpClientPool clientPool) {
+        this.clientPool = clientPool;
+        return this;
+    }
 
-        Request request = new Request.Builder()
-                .url(this.getUrl())
-                .post(body)
-                .build();
+    public HttpService<Object> isContentLengthEnabled(boolean enabled) {
+        this.contentLengthEnabled = enabled;
+        return this;
+    }
 
-        this.response = http.newCall(request)
-                .execute();
-        this.responseStringReturned = this.response.body().string();
-        return this.gson.fromJson(this.responseStringReturned, this.returnType);
+    public HttpService<Object> isResponseStringEnabled(boolean enabled) {
+        this.responseStringEnabled = enabled;
+        return this;
     }
 
-    @Override
-    public Object put(Object object) throws IOException, NoSuchFieldException, IllegalAccessException {
-        String json = this.gson.toJson(object);
+    /**
+     * Os GETs bem sucedidos ficam em memória já desserializados. A mesma instância do objeto é
+     * retornada a todas as chamadas que encontram a entrada e não deve ser alterada
+     *
+     * @see MemoryCache
+     */
+    public HttpService<Object> addMemoryCache(MemoryCache memoryCache) {
+        this.memoryCache = memoryCache;
+        return this;
+    }
 
-        String url = this.getUrl();
-        if (this.useInternalPropertyId) {
-            int id = getIntProperty(object);
-            if (id != 0) {
-                url = this.getUrlWithIdParam(id);
-            }
-        }
+    /**
+     * Os GETs passam a enviar If-None-Match / If-Modified-Since e, quando o servidor responde
+     * 304, o objeto da resposta anterior é retornado sem desserializar nada
+     *
+     * @see ConditionalCache
+     */
+    public HttpService<Object> addConditionalCache(ConditionalCache conditionalCache) {
+        this.conditionalCache = conditionalCache;
+        return this;
+    }
 
+    /**
+     * GETs idênticos (mesma URL, filtros e headers) feitos ao mesmo tempo por esta instância
+     * geram uma única requisição, e o resultado é entregue a todos que aguardam
+     */
+    public HttpService<Object> isRequestCoalescingEnabled(boolean enabled) {
+        this.requestCoalescingEnabled = enabled;
+        return this;
+    }
 
-        RequestBody body = RequestBody.create(this.mediaType, json);
-        Request request = new Request.Builder()
-                .url(url)
-                .put(body)
-                .build();
+    public HttpService<Object> addMetrics(IHttpMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
 
-        this.response = http.newCall(request)
-                .execute();
-        this.responseStringReturned = this.response.body().string();
-        return this.gson.fromJson(this.responseStringReturned, this.returnType);
+    public HttpService<Object> addCompression(Compression compression) {
+        this.compression = compression;
+        return this;
+    }
 
+    public HttpService<Object> addCallbackExecutor(Executor executor) {
+        this.callbackExecutor = executor;
+        return this;
     }
 
-    @Override
-    public boolean delete(int id) throws IOException {
-        Request request = new Request.Builder()
-                .url(this.getUrlWithIdParam(id))
-                .delete()
-                .build();
+    /**
+     * Requisições simultâneas de postAll(), putAll() e deleteAll(). Também vale o limite por
+     * host do Dispatcher, compartilhado pelos serviços do pool (HttpClientPool.setMaxRequestsPerHost())
+     */
+    public HttpService<Object> addBatchConcurrency(int concurrency) {
+        this.batchConcurrency = Math.max(1, concurrency);
+        return this;
+    }
 
-        this.response = http.newCall(request)
-                .execute();
-        this.responseStringReturned = this.response.body().string();
-        if (this.response.code() == StatusCode.DELETADO.getCode()) {
-            return true;
-        } else {
-            return this.gson.fromJson(this.responseStringReturned, this.returnType);
-        }
+    public HttpService<Object> isBatchCoalesceEnabled(boolean enabled) {
+        this.batchCoalesceEnabled = enabled;
+        return this;
     }
 
-    @Override
-    public Object upload(File file) throws IOException {
-        MultipartBody.Builder bodyBuilder = new MultipartBody.Builder()
-                .setType(MultipartBody.FORM)
-                .addFormDataPart(this.fileFieldName, file.getName(),
-                        RequestBody.create(this.mediaType, file));
+    public HttpService<Object> addBatchEndPoint(String batchEndPoint) {
+        this.batchEndPoint = batchEndPoint;
+        return this;
+    }
 
-        if (this.aditionalFormFields != null) {
-            for (Map.Entry<String, String> field : this.aditionalFormFields.entrySet()) {
-                bodyBuilder.addFormDataPart(field.getKey(), field.getValue());
-            }
-        }
-        RequestBody requestBody = bodyBuilder.build();
-        Request request = new Request.Builder()
-                .url(this.getUrl())
-                .post(requestBody)
-                .build();
+    public HttpService<Object> addPagination(IPaginationStrategy paginationStrategy) {
+        this.paginationStrategy = paginationStrategy;
+        return this;
+    }
 
+    /**
+     * 0 desabilita o prefetch: cada página é requisitada apenas quando a anterior termina
+     */
+    public HttpService<Object> addPrefetchDepth(int prefetchDepth) {
+        this.prefetchDepth = Math.max(0, prefetchDepth);
+        return this;
+    }
 
-        this.response = this.http
-                .newCall(request)
-                .execute();
-        this.responseStringReturned = this.response.body().string();
-        return this.gson.fromJson(this.responseStringReturned, this.returnType);
+    public HttpService<Object> addUploadChunkSize(int chunkSize) {
+        this.uploadChunkSize = Math.max(1, chunkSize);
+        return this;
     }
 
-    private int getIntProperty(Object object)
-            throws NoSuchFieldException, IllegalAccessException {
-        int value = 0;
+    public HttpService<Object> addBandwidthLimiter(BandwidthLimiter bandwidthLimiter) {
+        this.bandwidthLimiter = bandwidthLimiter;
+        return this;
+    }
 
-        Field field = object.getClass().getDeclaredField(this.propertyIdName);
-        field.setAccessible(true);
-        value = (int) field.get(object);
-        return value;
+    public HttpService<Object> addTransferExecutor(Executor executor) {
+        this.transferExecutor = executor;
+        return this;
     }
 
-    private String getUrl() {
-        if (this.isNullOrEmpty(this.customUrl)) {
-            if (!this.baseURL.substring(this.baseURL.length() - 1).equals("/")) {
-                this.baseURL += "/";
-            }
-            return this.baseURL + this.endPoint;
-        } else {
-            return this.customUrl;
-        }
+    public HttpService<Object> isInternalPropertyIdEnabled(boolean enabled) {
+        this.useInternalPropertyId = enabled;
+        return this;
     }
 
-    private MediaType getDefaultMediaType() {
-        return MediaType.parse("application/json; charset=utf-8");
+    public HttpService<Object> addIdExtractor(IIdExtractor<Object> idExtractor) {
+        this.idExtractor = idExtractor;
+        return this;
     }
 
-    private Gson getDefaultGsonConverter() {
-        return new Gson();
+    /**
+     * For upload files only
+     */
+    public HttpService<Object> addFileFieldName(String fileFieldName) {
+        this.fileFieldName = fileFieldName;
+        return this;
     }
 
-    private String getUrlWithIdParam(int id) {
-        return this.getUrl() + "/" + id;
+    public HttpService<Object> addAditionalFormFields(Map<String, String> map) {
+        this.aditionalFormFields = map;
+        return this;
     }
 
 
     /**
-     * Converte a resposta da requisição em qualquer outro tipo (Diferente do returnType)
-     * passado como parâmetro
+     * Retorna um objeto a partir do id
      */
-    public <T> T convertResponseTo(Type type) {
-        return gson.fromJson(this.responseStringReturned, type);
+    @Override
+    public Object get(int id) throws IOException {
+        return this.get(id, RequestOptions.NONE);
     }
 
-    private HttpUrl getUrlWithFilters() {
-        HttpUrl.Builder urlBuilder = HttpUrl
-                .parse(getUrl())
-                .newBuilder();
+    public Object get(int id, RequestOptions options) throws IOException {
+        return this.remember(this.getForResult(id, options)).getBody();
+    }
 
-        if (filters != null) {
-            for (Map.Entry<String, String> filter : filters.entrySet()) {
-                urlBuilder.addQueryParameter(filter.getKey(), filter.getValue());
-            }
-        }
-        return urlBuilder.build();
+    /**
+     * Retorna uma lista de objetos, levando em consideração os filtros adicionados
+     */
+    @Override
+    public ArrayList<Object> get() throws IOException {
+        return this.get(RequestOptions.NONE);
     }
 
     /**
-     * Get Properties
+     * Retorna uma lista de objetos. Os filtros das opções são combinados aos filtros do serviço
      */
-    public int getStatusCode() {
-        return this.response.code();
+    public ArrayList<Object> get(RequestOptions options) throws IOException {
+        HttpResult<List<Object>> result = this.remember(this.getForResult(options));
+        return (ArrayList<Object>) result.getBody();
     }
 
-    public Response getResponse() {
-        return this.response;
+    /**
+     * Retorna os objetos da lista um a um, conforme são lidos da conexão.
+     * O JsonStream deve ser fechado caso não seja percorrido até o fim
+     */
+    @Override
+    public JsonStream<Object> stream() throws IOException {
+        Response response = this.newCall(this.buildListRequest(RequestOptions.NONE))
+                .execute();
+        this.remember(new HttpResult<>(response, null, null, this.converter, 0));
+
+        return JsonStream.open(response, this.converter, this.getElementType());
     }
 
-    public boolean isSuccessful() {
-        return this.response.isSuccessful();
+    /**
+     * Repassa cada objeto da lista ao callback conforme é lido da conexão.
+     * Se o callback retornar false a leitura é interrompida e a conexão é fechada
+     */
+    @Override
+    public void stream(IStreamCallback<Object> callback) throws IOException {
+        this.stream().forEach(callback);
     }
 
+    /**
+     * Percorre todas as páginas da listagem conforme a estratégia de addPagination(),
+     * requisitando as próximas páginas em segundo plano. Ex:
+     * for (PagedIterator<Post> it = service.paginate(); it.hasNext(); ) { ... }
+     */
+    public PagedIterator<Object> paginate() {
+        return this.paginate(RequestOptions.NONE);
+    }
+
+    public PagedIterator<Object> paginate(RequestOptions options) {
+        if (this.paginationStrategy == null) {
+            throw new IllegalStateException("Informe a estratégia de paginação com addPagination()");
+        }
+        return new PagedIterator<>(this, this.paginationStrategy, options, this.prefetchDepth);
+    }
+
+    @Override
+    public Object post(Object object) throws IOException {
+        return this.post(object, RequestOptions.NONE);
+    }
+
+    public Object post(Object object, RequestOptions options) throws IOException {
+        return this.remember(this.postForResult(object, options)).getBody();
+    }
+
+    @Override
+    public Object put(Object object) throws IOException, NoSuchFieldException, IllegalAccessException {
+        return this.put(object, RequestOptions.NONE);
+    }
+
+    public Object put(Object object, RequestOptions options)
+            throws IOException, NoSuchFieldException, IllegalAccessException {
+        return this.remember(this.putForResult(object, options)).getBody();
+    }
+
+    @Override
+    public boolean delete(int id) throws IOException {
+        return this.delete(id, RequestOptions.NONE);
+    }
+
+    public boolean delete(int id, RequestOptions options) throws IOException {
+        Boolean deleted = this.remember(this.deleteForResult(id, options)).getBody();
+        return deleted != null && deleted;
+    }
+
+    @Override
+    public Object upload(File file) throws IOException {
+        return this.upload(file, RequestOptions.NONE);
+    }
+
+    public Object upload(File file, RequestOptions options) throws IOException {
+        return this.remember(this.uploadForResult(file, options)).getBody();
+    }
+
+    /**
+     * Upload em blocos, retomável, com progresso. Indicado para arquivos grandes ou redes
+     * instáveis: uma falha reenvia apenas o bloco interrompido
+     *
+     * @see ResumableUpload
+     */
+    public Object uploadResumable(File file, IProgressListener listener) throws IOException {
+        ResumableUpload<Object> upload = this.newResumableUpload(file)
+                .addProgressListener(listener);
+        return this.remember(upload.execute()).getBody();
+    }
+
+    /**
+     * Baixa o conteúdo do endpoint para o arquivo, em streaming e com retomada
+     *
+     * @see FileDownload
+     */
+    @Override
+    public File download(File file) throws IOException {
+        return this.newDownload(file).execute();
+    }
+
+    public File download(File file, IProgressListener listener) throws IOException {
+        return this.newDownload(file)
+                .addProgressListener(listener)
+                .execute();
+    }
+
+    /**
+     * Grava o conteúdo do endpoint no Sink, que não é fechado. Retorna a quantidade de bytes
+     */
+    public long download(Sink sink) throws IOException {
+        return this.newDownload(null).execute(sink);
+    }
+
+    public FileDownload newDownload(File file) {
+        return this.newDownload(file, RequestOptions.NONE);
+    }
+
+    /**
+     * Cria o download sem iniciá-lo, permitindo configurar progresso, trechos paralelos,
+     * checksum e executá-lo de forma assíncrona
+     */
+    public FileDownload newDownload(File file, RequestOptions options) {
+        Request request = this.newRequestBuilder(this.getUrl(options), options)
+                .build();
+        return new FileDownload(this.http, request, file, this.transferExecutor)
+                .addBandwidthLimiter(this.bandwidthLimiter);
+    }
+
+    public ResumableUpload<Object> newResumableUpload(File file) {
+        return this.newResumableUpload(file, RequestOptions.NONE);
+    }
+
+    /**
+     * Cria o upload sem iniciá-lo, permitindo configurar o progresso, retomar uma sessão
+     * anterior e executá-lo de forma assíncrona
+     */
+    public ResumableUpload<Object> newResumableUpload(File file, RequestOptions options) {
+        Request sessionRequest = this.newRequestBuilder(this.getUrl(options), options)
+                .build();
+        final IResponseReader<Object> reader = this.bodyReader(this.returnType);
+        ITransformer<Response, HttpResult<Object>> resultReader = new ITransformer<Response, HttpResult<Object>>() {
+            @Override
+            public HttpResult<Object> apply(Response response) throws IOException {
+                return toResult(response, reader);
+            }
+        };
+        return new ResumableUpload<>(this.http, sessionRequest, file, this.mediaType, resultReader,
+                this.transferExecutor)
+                .addChunkSize(this.uploadChunkSize)
+                .addBandwidthLimiter(this.bandwidthLimiter);
+    }
+
+    /**
+     * Métodos que retornam o resultado completo da chamada (status, headers, tempos e corpo).
+     * Não alteram nenhum estado da instância, podendo ser chamados por várias threads
+     */
+    public HttpResult<Object> getForResult(int id) throws IOException {
+        return this.getForResult(id, RequestOptions.NONE);
+    }
+
+    public HttpResult<Object> getForResult(int id, RequestOptions options) throws IOException {
+        return this.execute(this.buildGetRequest(id, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    public HttpResult<List<Object>> getForResult() throws IOException {
+        return this.getForResult(RequestOptions.NONE);
+    }
+
+    public HttpResult<List<Object>> getForResult(RequestOptions options) throws IOException {
+        return this.execute(this.buildListRequest(options), this.<List<Object>>bodyReader(this.returnType));
+    }
+
+    public HttpResult<Object> postForResult(Object object) throws IOException {
+        return this.postForResult(object, RequestOptions.NONE);
+    }
+
+    public HttpResult<Object> postForResult(Object object, RequestOptions options) throws IOException {
+        return this.execute(this.buildPostRequest(object, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    public HttpResult<Object> putForResult(Object object)
+            throws IOException, NoSuchFieldException, IllegalAccessException {
+        return this.putForResult(object, RequestOptions.NONE);
+    }
+
+    public HttpResult<Object> putForResult(Object object, RequestOptions options)
+            throws IOException, NoSuchFieldException, IllegalAccessException {
+        return this.execute(this.buildPutRequest(object, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    public HttpResult<Boolean> deleteForResult(int id) throws IOException {
+        return this.deleteForResult(id, RequestOptions.NONE);
+    }
+
+    public HttpResult<Boolean> deleteForResult(int id, RequestOptions options) throws IOException {
+        return this.execute(this.buildDeleteRequest(id, options), this.deleteReader());
+    }
+
+    public HttpResult<Object> uploadForResult(File file) throws IOException {
+        return this.uploadForResult(file, RequestOptions.NONE);
+    }
+
+    public HttpResult<Object> uploadForResult(File file, RequestOptions options) throws IOException {
+        return this.execute(this.buildUploadRequest(file, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    /**
+     * Métodos assíncronos. A desserialização é feita no callbackExecutor, fora das threads
+     * do Dispatcher do OkHttp. Estes métodos não alteram getResponse() e getStatusCode()
+     */
+    @Override
+    public HttpFuture<Object> getAsync(int id) {
+        return this.getAsync(id, RequestOptions.NONE);
+    }
+
+    public HttpFuture<Object> getAsync(int id, RequestOptions options) {
+        return this.enqueue(this.buildGetRequest(id, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    @Override
+    public HttpFuture<List<Object>> getAsync() {
+        return this.getAsync(RequestOptions.NONE);
+    }
+
+    public HttpFuture<List<Object>> getAsync(RequestOptions options) {
+        return this.enqueue(this.buildListRequest(options), this.<List<Object>>bodyReader(this.returnType));
+    }
+
+    /**
+     * Versão assíncrona de getForResult(), utilizada também pela paginação
+     */
+    public HttpFuture<HttpResult<List<Object>>> getForResultAsync(RequestOptions options) {
+        return this.enqueueForResult(this.buildListRequest(options), this.<List<Object>>bodyReader(this.returnType));
+    }
+
+    @Override
+    public HttpFuture<Object> postAsync(Object object) {
+        return this.postAsync(object, RequestOptions.NONE);
+    }
+
+    public HttpFuture<Object> postAsync(Object object, RequestOptions options) {
+        return this.enqueue(this.buildPostRequest(object, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    @Override
+    public HttpFuture<Object> putAsync(Object object) {
+        return this.putAsync(object, RequestOptions.NONE);
+    }
+
+    /**
+     * Falhas ao obter o id do objeto são entregues pelo próprio futuro
+     */
+    public HttpFuture<Object> putAsync(Object object, RequestOptions options) {
+        Request request;
+        try {
+            request = this.buildPutRequest(object, options);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return HttpFuture.failed(e);
+        }
+        return this.enqueue(request, this.<Object>bodyReader(this.returnType));
+    }
+
+    @Override
+    public HttpFuture<Boolean> deleteAsync(int id) {
+        return this.deleteAsync(id, RequestOptions.NONE);
+    }
+
+    public HttpFuture<Boolean> deleteAsync(int id, RequestOptions options) {
+        return this.enqueue(this.buildDeleteRequest(id, options), this.deleteReader());
+    }
+
+    @Override
+    public HttpFuture<Object> uploadAsync(File file) {
+        return this.uploadAsync(file, RequestOptions.NONE);
+    }
+
+    public HttpFuture<Object> uploadAsync(File file, RequestOptions options) {
+        return this.enqueue(this.buildUploadRequest(file, options), this.<Object>bodyReader(this.returnType));
+    }
+
+    private <T> HttpResult<T> execute(Request request, IResponseReader<T> reader) throws IOException {
+        HttpResult<T> cached = this.getCachedResult(request, reader);
+        if (cached != null) {
+            return cached;
+        }
+        if (this.singleFlight == null || !"GET".equals(request.method())) {
+            return this.executeOnNetwork(request, reader);
+        }
+
+        HttpFuture<HttpResult<T>> promise = new HttpFuture<>();
+        HttpFuture<HttpResult<T>> shared = this.singleFlight.join(this.singleFlight.keyOf(request), promise);
+        if (shared != null) {
+            return SingleFlight.await(shared);
+        }
+        try {
+            HttpResult<T> result = this.executeOnNetwork(request, reader);
+            promise.complete(result);
+            return result;
+        } catch (Throwable e) {
+            promise.fail(e);
+            throw e;
+        }
+    }
+
+    private <T> HttpResult<T> executeOnNetwork(Request request, IResponseReader<T> reader) throws IOException {
+        long generation = this.getCacheGeneration();
+        HttpResult<T> stored = this.getStoredResult(request, reader);
+        Call call = this.newCall(this.addValidators(request, stored));
+        Response response = this.hedgePolicy == null ? call.execute() : this.hedgePolicy.execute(call);
+        return this.updateCache(request, reader, this.toResult(response, stored, reader), generation);
+    }
+
+    private <T> HttpFuture<T> enqueue(Request request, IResponseReader<T> reader) {
+        return this.enqueueForResult(request, reader).then(new ITransformer<HttpResult<T>, T>() {
+            @Override
+            public T apply(HttpResult<T> result) {
+                return result.getBody();
+            }
+        });
+    }
+
+    private <T> HttpFuture<HttpResult<T>> enqueueForResult(final Request request, final IResponseReader<T> reader) {
+        HttpResult<T> cached = this.getCachedResult(request, reader);
+        if (cached != null) {
+            return HttpFuture.completed(cached);
+        }
+        if (this.singleFlight == null || !"GET".equals(request.method())) {
+            return this.enqueueOnNetwork(request, reader);
+        }
+
+        String key = this.singleFlight.keyOf(request);
+        final HttpFuture<HttpResult<T>> promise = new HttpFuture<>();
+        HttpFuture<HttpResult<T>> shared = this.singleFlight.join(key, promise);
+        if (shared != null) {
+            return shared;
+        }
+        final HttpFuture<HttpResult<T>> network;
+        try {
+            network = this.enqueueOnNetwork(request, reader);
+        } catch (Throwable e) {
+            promise.fail(e);
+            throw e;
+        }
+        network.addCallback(new IHttpCallback<HttpResult<T>>() {
+            @Override
+            public void onSuccess(HttpResult<T> result) {
+                promise.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                promise.fail(error);
+            }
+        });
+        // A promessa só é cancelada quando todas as chamadas que aguardam o resultado desistem
+        promise.addCallback(new IHttpCallback<HttpResult<T>>() {
+            @Override
+            public void onSuccess(HttpResult<T> result) {
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                if (promise.isCancelled()) {
+                    network.cancel(true);
+                }
+            }
+        });
+        return this.singleFlight.detach(key, promise);
+    }
+
+    private <T> HttpFuture<HttpResult<T>> enqueueOnNetwork(final Request request, final IResponseReader<T> reader) {
+        final long generation = this.getCacheGeneration();
+        final HttpResult<T> stored = this.getStoredResult(request, reader);
+        // A tag identifica a chamada como assíncrona para os interceptors (ex: Resilience)
+        final HttpFuture<HttpResult<T>> future = new HttpFuture<>();
+        Request asyncRequest = this.deferRetries(request).newBuilder()
+                .tag(HttpFuture.class, future)
+                .build();
+        Call call = this.newCall(this.addValidators(asyncRequest, stored));
+        future.setCall(call);
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!this.retry(call, null, e)) {
+                    future.fail(e);
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, final Response response) {
+                if (this.retry(call, response, null)) {
+                    return;
+                }
+                Runnable decodeTask = new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            future.complete(updateCache(request, reader, toResult(response, stored, reader), generation));
+                        } catch (Throwable e) {
+                            future.fail(e);
+                        }
+                    }
+                };
+                try {
+                    callbackExecutor.execute(decodeTask);
+                } catch (RejectedExecutionException e) {
+                    response.close();
+                    future.fail(e);
+                }
+            }
+
+            /**
+             * Agenda a próxima tentativa fora do Dispatcher, sem ocupar a thread durante a espera.
+             * Cancelar o futuro antes do disparo impede a nova tentativa
+             */
+            private boolean retry(final Call call, Response response, IOException error) {
+                long delay = retryPolicy == null ? -1 : retryPolicy.nextDelay(call, response, error);
+                if (delay < 0) {
+                    return false;
+                }
+                final Callback callback = this;
+                try {
+                    AsyncExecutors.getScheduler().schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (future.isDone()) {
+                                return;
+                            }
+                            Call next = call.clone();
+                            future.setCall(next);
+                            enqueueCall(next, callback);
+                        }
+                    }, delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    return false;
+                }
+                if (response != null) {
+                    response.close();
+                }
+                return true;
+            }
+        };
+        this.enqueueCall(call, callback);
+        return future;
+    }
+
+    private void enqueueCall(Call call, Callback callback) {
+        if (this.hedgePolicy == null) {
+            call.enqueue(callback);
+        } else {
+            this.hedgePolicy.enqueue(call, callback);
+        }
+    }
+
+    /**
+     * Nas chamadas assíncronas as retentativas da RetryPolicy são agendadas por enqueueOnNetwork()
+     */
+    private Request deferRetries(Request request) {
+        return this.retryPolicy == null ? request : this.retryPolicy.defer(request);
+    }
+
+    /**
+     * Consulta o cache em memória. Apenas requisições GET são armazenadas
+     */
+    private <T> HttpResult<T> getCachedResult(Request request, IResponseReader<T> reader) {
+        if (this.memoryCache == null || !"GET".equals(request.method())) {
+            return null;
+        }
+        return this.memoryCache.get(request, reader.getType());
+    }
+
+    /**
+     * Lida antes de enviar o GET: se a URL for invalidada enquanto a resposta não chega, o
+     * resultado não é armazenado no cache em memória
+     */
+    private long getCacheGeneration() {
+        return this.memoryCache == null ? 0 : this.memoryCache.getGeneration();
+    }
+
+    /**
+     * Resultado anterior do GET guardado no cache condicional, cujos validadores serão enviados
+     */
+    private <T> HttpResult<T> getStoredResult(Request request, IResponseReader<T> reader) {
+        if (this.conditionalCache == null || !"GET".equals(request.method())) {
+            return null;
+        }
+        return this.conditionalCache.get(request, reader.getType());
+    }
+
+    private Request addValidators(Request request, HttpResult<?> stored) {
+        if (stored == null) {
+            return request;
+        }
+        return this.conditionalCache.addValidators(request, stored);
+    }
+
+    /**
+     * Armazena os GETs bem sucedidos e invalida a URL alterada (e a listagem) após POST, PUT
+     * e DELETE
+     */
+    private <T> HttpResult<T> updateCache(Request request, IResponseReader<T> reader, HttpResult<T> result,
+                                          long generation) {
+        if (!result.isSuccessful()) {
+            return result;
+        }
+        if ("GET".equals(request.method())) {
+            if (this.memoryCache != null) {
+                this.memoryCache.put(request, reader.getType(), result, generation);
+            }
+            if (this.conditionalCache != null) {
+                this.conditionalCache.put(request, reader.getType(), result);
+            }
+        } else {
+            HttpUrl listUrl = this.getUrl(RequestOptions.NONE).build();
+            if (this.memoryCache != null) {
+                this.memoryCache.invalidate(request.url());
+                this.memoryCache.invalidate(listUrl);
+            }
+            if (this.conditionalCache != null) {
+                this.conditionalCache.invalidate(request.url());
+                this.conditionalCache.invalidate(listUrl);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Operações em lote. As requisições são disparadas em paralelo, limitadas por
+     * addBatchConcurrency(), reaproveitando as conexões do pool compartilhado
+     * (multiplexadas quando o servidor suporta HTTP/2)
+     */
+    @Override
+    public BatchResult<Object> postAll(Collection<Object> objects) throws IOException {
+        if (this.batchCoalesceEnabled) {
+            return this.sendCoalesced("POST", objects);
+        }
+        List<Request> requests = new ArrayList<>();
+        for (Object object : objects) {
+            requests.add(this.buildPostRequest(object, RequestOptions.NONE));
+        }
+        return this.runBatch(requests, new ArrayList<Throwable>(), this.<Object>bodyReader(this.returnType));
+    }
+
+    @Override
+    public BatchResult<Object> putAll(Collection<Object> objects) throws IOException {
+        if (this.batchCoalesceEnabled) {
+            return this.sendCoalesced("PUT", objects);
+        }
+        List<Request> requests = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (Object object : objects) {
+            try {
+                requests.add(this.buildPutRequest(object, RequestOptions.NONE));
+                errors.add(null);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                requests.add(null);
+                errors.add(e);
+            }
+        }
+        return this.runBatch(requests, errors, this.<Object>bodyReader(this.returnType));
+    }
+
+    /**
+     * Não há um formato padrão para exclusão agrupada, então deleteAll() sempre envia
+     * uma requisição por id
+     */
+    @Override
+    public BatchResult<Boolean> deleteAll(Collection<Integer> ids) throws IOException {
+        List<Request> requests = new ArrayList<>();
+        for (Integer id : ids) {
+            requests.add(this.buildDeleteRequest(id, RequestOptions.NONE));
+        }
+        return this.runBatch(requests, new ArrayList<Throwable>(), this.deleteReader());
+    }
+
+    /**
+     * Dispara as requisições respeitando o limite de concorrência e aguarda todas terminarem.
+     * errors pode conter, na mesma posição, a falha de um item cuja requisição não pôde ser criada
+     */
+    private <T> BatchResult<T> runBatch(List<Request> requests, List<Throwable> errors, IResponseReader<T> reader)
+            throws IOException {
+        final Semaphore permits = new Semaphore(this.batchConcurrency);
+        List<HttpFuture<HttpResult<T>>> futures = new ArrayList<>();
+        IHttpCallback<HttpResult<T>> releasePermit = new IHttpCallback<HttpResult<T>>() {
+            @Override
+            public void onSuccess(HttpResult<T> result) {
+                permits.release();
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                permits.release();
+            }
+        };
+
+        try {
+            for (Request request : requests) {
+                if (request == null) {
+                    futures.add(null);
+                    continue;
+                }
+                permits.acquire();
+                futures.add(this.enqueueForResult(request, reader).addCallback(releasePermit));
+            }
+
+            List<BatchItem<T>> items = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                HttpFuture<HttpResult<T>> future = futures.get(i);
+                if (future == null) {
+                    items.add(new BatchItem<T>(i, null, errors.get(i)));
+                    continue;
+                }
+                try {
+                    items.add(new BatchItem<>(i, future.get(), null));
+                } catch (ExecutionException e) {
+                    items.add(new BatchItem<T>(i, null, e.getCause()));
+                }
+            }
+            return new BatchResult<>(items);
+        } catch (InterruptedException e) {
+            for (HttpFuture<HttpResult<T>> future : futures) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Operação em lote interrompida");
+        }
+    }
+
+    /**
+     * Envia todos os objetos em um único array JSON. Quando o servidor responde com um array do
+     * mesmo tamanho, cada item recebe o elemento correspondente
+     */
+    private BatchResult<Object> sendCoalesced(String method, Collection<Object> objects) throws IOException {
+        RequestBody body = this.newJsonBody(objects);
+        HttpUrl.Builder url = isNullOrEmpty(this.batchEndPoint)
+                ? this.getUrl(RequestOptions.NONE)
+                : this.batchEndPointTemplate.expand(this.baseHttpUrl, this.pathParams);
+        Request request = this.newRequestBuilder(url, RequestOptions.NONE)
+                .method(method, body)
+                .build();
+
+        Type listType = TypeToken.getParameterized(List.class, this.getElementType()).getType();
+        HttpResult<List<Object>> result = this.execute(request, this.<List<Object>>bodyReader(listType));
+        List<Object> bodies = result.getBody();
+        boolean matched = bodies != null && bodies.size() == objects.size();
+
+        // Sem a correspondência posição a posição não há como saber quais itens foram aceitos
+        IOException mismatch = null;
+        if (result.isSuccessful() && !matched) {
+            mismatch = new IOException("O lote enviou " + objects.size() + " itens e a resposta contém "
+                    + (bodies == null ? 0 : bodies.size()));
+        }
+        List<BatchItem<Object>> items = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            Object itemBody = matched ? bodies.get(i) : null;
+            HttpResult<Object> itemResult = new HttpResult<>(result.getResponse(), itemBody,
+                    null, this.converter, result.getDecodeTimeNanos());
+            items.add(new BatchItem<>(i, itemResult, mismatch));
+        }
+        return new BatchResult<>(items);
+    }
+
+    /**
+     * Construção das requisições, compartilhada entre os métodos síncronos e assíncronos
+     */
+    private Request buildGetRequest(int id, RequestOptions options) {
+        return this.newRequestBuilder(this.getUrlWithIdParam(id, options), options)
+                .build();
+    }
+
+    private Request buildListRequest(RequestOptions options) {
+        return this.newRequestBuilder(this.getUrl(options), options)
+                .build();
+    }
+
+    private Request buildPostRequest(Object object, RequestOptions options) {
+        RequestBody body = this.newJsonBody(object);
+
+        return this.newRequestBuilder(this.getUrl(options), options)
+                .post(body)
+                .build();
+    }
+
+    private Request buildPutRequest(Object object, RequestOptions options)
+            throws NoSuchFieldException, IllegalAccessException {
+        HttpUrl.Builder url;
+        String id = this.getIdProperty(object);
+        if (id != null) {
+            url = this.getUrlWithIdParam(id, options);
+        } else {
+            url = this.getUrl(options);
+        }
+
+        RequestBody body = this.newJsonBody(object);
+        return this.newRequestBuilder(url, options)
+                .put(body)
+                .build();
+    }
+
+    private Request buildDeleteRequest(int id, RequestOptions options) {
+        return this.newRequestBuilder(this.getUrlWithIdParam(id, options), options)
+                .delete()
+                .build();
+    }
+
+    private Request buildUploadRequest(File file, RequestOptions options) {
+        MultipartBody.Builder bodyBuilder = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart(this.fileFieldName, file.getName(),
+                        RequestBody.create(this.mediaType, file));
+
+        if (this.aditionalFormFields != null) {
+            for (Map.Entry<String, String> field : this.aditionalFormFields.entrySet()) {
+                bodyBuilder.addFormDataPart(field.getKey(), field.getValue());
+            }
+        }
+        RequestBody requestBody = bodyBuilder.build();
+        return this.newRequestBuilder(this.getUrl(options), options)
+                .post(requestBody)
+                .build();
+    }
+
+    /**
+     * Desserializa o corpo da resposta e fecha a conexão. Por padrão o conteúdo é lido em
+     * streaming direto do socket pelo JsonReader, sem criar uma String intermediária com todo
+     * o corpo
+     *
+     * @see this#isResponseStringEnabled(boolean)
+     */
+    private <T> HttpResult<T> toResult(Response response, IResponseReader<T> reader) throws IOException {
+        return this.toResult(response, null, reader);
+    }
+
+    /**
+     * Com um resultado anterior (cache condicional), uma resposta 304 retorna o objeto já
+     * desserializado daquele resultado, sem ler o corpo
+     */
+    private <T> HttpResult<T> toResult(Response response, HttpResult<T> stored, IResponseReader<T> reader)
+            throws IOException {
+        if (stored != null && StatusCode.NAO_MODIFICADO.is(response.code())) {
+            response.close();
+            return stored.revalidated(response);
+        }
+        ResponseBody body = response.body();
+        try {
+            String responseString = null;
+            Reader bodyReader;
+            if (this.responseStringEnabled) {
+                responseString = body.string();
+                bodyReader = new StringReader(responseString);
+            } else {
+                bodyReader = body.charStream();
+            }
+            long start = System.nanoTime();
+            T value = reader.read(response, bodyReader);
+            long decodeTimeNanos = System.nanoTime() - start;
+            if (this.metrics != null) {
+                Request request = response.request();
+                this.metrics.onDecode(MetricsEventListener.endpointOf(request.method(), request.url()), decodeTimeNanos);
+            }
+            return new HttpResult<>(response, value, responseString, this.converter, decodeTimeNanos);
+        } finally {
+            body.close();
+        }
+    }
+
+    private <T> IResponseReader<T> bodyReader(final Type type) {
+        return new IResponseReader<T>() {
+            @Override
+            public T read(Response response, Reader bodyReader) throws IOException {
+                return converter.fromJson(bodyReader, type);
+            }
+
+            @Override
+            public Type getType() {
+                return type;
+            }
+        };
+    }
+
+    private IResponseReader<Boolean> deleteReader() {
+        final IResponseReader<Boolean> bodyReader = this.bodyReader(this.returnType);
+        return new IResponseReader<Boolean>() {
+            @Override
+            public Boolean read(Response response, Reader reader) throws IOException {
+                if (StatusCode.DELETADO.is(response.code())) {
+                    return true;
+                }
+                return bodyReader.read(response, reader);
+            }
+
+            @Override
+            public Type getType() {
+                return Boolean.class;
+            }
+        };
+    }
+
+    /**
+     * Guarda o resultado da última chamada síncrona feita pela thread atual, utilizado por
+     * getStatusCode(), getHeader(), isSuccessful() e demais métodos de consulta
+     */
+    private <T> HttpResult<T> remember(HttpResult<T> result) {
+        this.lastResult.set(result);
+        return result;
+    }
+
+    /**
+     * Leitura do corpo de uma resposta. O tipo lido faz parte da chave dos caches
+     */
+    private interface IResponseReader<T> {
+        T read(Response response, Reader bodyReader) throws IOException;
+
+        Type getType();
+    }
+
+    private Type getElementType() {
+        if (this.elementType != null) {
+            return this.elementType;
+        }
+        if (this.returnType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) this.returnType;
+            Type rawType = parameterizedType.getRawType();
+            if (rawType instanceof Class && Collection.class.isAssignableFrom((Class<?>) rawType)) {
+                return parameterizedType.getActualTypeArguments()[0];
+            }
+        }
+        if (this.returnType instanceof GenericArrayType) {
+            return ((GenericArrayType) this.returnType).getGenericComponentType();
+        }
+        if (this.returnType instanceof Class && ((Class<?>) this.returnType).isArray()) {
+            return ((Class<?>) this.returnType).getComponentType();
+        }
+        return this.returnType;
+    }
+
+    private String getIdProperty(Object object)
+            throws NoSuchFieldException, IllegalAccessException {
+        if (this.idExtractor != null) {
+            return this.idExtractor.getId(object);
+        }
+        if (!this.useInternalPropertyId) {
+            return null;
+        }
+        return IdAccessor.forClass(object.getClass(), this.propertyIdName).getId(object);
+    }
+
+    private HttpUrl.Builder getUrl(RequestOptions options) {
+        if (options.getUrl() != null) {
+            return options.getUrl().newBuilder();
+        }
+        return this.endPointTemplate.expand(this.baseHttpUrl, this.getPathParams(options));
+    }
+
+    private Map<String, String> getPathParams(RequestOptions options) {
+        if (options.getPathParams().isEmpty()) {
+            return this.pathParams;
+        }
+        Map<String, String> params = new HashMap<>(this.pathParams);
+        params.putAll(options.getPathParams());
+        return params;
+    }
+
+    private MediaType getDefaultMediaType() {
+        return MediaType.parse("application/json; charset=utf-8");
+    }
+
+    /**
+     * Corpo JSON serializado no envio, utilizando o tipo do objeto em tempo de execução
+     */
+    private <V> RequestBody newJsonBody(V value) {
+        Type type = value == null ? java.lang.Object.class : value.getClass();
+        return new JsonRequestBody(this.converter, value, type, this.mediaType, this.contentLengthEnabled);
+    }
+
+    private Gson getDefaultGsonConverter() {
+        return new Gson();
+    }
+
+    private HttpUrl.Builder getUrlWithIdParam(int id, RequestOptions options) {
+        return this.getUrlWithIdParam(String.valueOf(id), options);
+    }
+
+    /**
+     * Quando o endpoint possui o parâmetro {id} o valor é colocado na sua posição,
+     * caso contrário é adicionado ao final do caminho
+     */
+    private HttpUrl.Builder getUrlWithIdParam(String id, RequestOptions options) {
+        if (this.endPointTemplate.hasParameter("id")) {
+            Map<String, String> params = new HashMap<>(this.getPathParams(options));
+            params.put("id", id);
+            return this.endPointTemplate.expand(this.baseHttpUrl, params);
+        }
+        return this.getUrl(options)
+                .addPathSegment(id);
+    }
+
+    /**
+     * Converte a resposta da requisição em qualquer outro tipo (Diferente do returnType)
+     * passado como parâmetro. Requer isResponseStringEnabled(true)
+     */
+    public <T> T convertResponseTo(Type type) {
+        return this.getLastResult().convertTo(type);
+    }
+
+    /**
+     * Cria a requisição já com os filtros e headers do serviço, combinados com as opções da
+     * chamada (que têm prioridade). As opções seguem junto à requisição como tag, para que
+     * newCall() aplique os timeouts
+     */
+    private Request.Builder newRequestBuilder(HttpUrl.Builder urlBuilder, RequestOptions options) {
+        if (this.filters != null && options.getUrl() == null) {
+            for (Map.Entry<String, String> filter : this.filters.entrySet()) {
+                urlBuilder.addQueryParameter(filter.getKey(), filter.getValue());
+            }
+        }
+        for (Map.Entry<String, String> filter : options.getFilters().entrySet()) {
+            urlBuilder.removeAllQueryParameters(filter.getKey());
+            urlBuilder.addQueryParameter(filter.getKey(), filter.getValue());
+        }
+        Request.Builder requestBuilder = new Request.Builder()
+                .url(urlBuilder.build());
+
+        for (Map.Entry<String, String> entry : this.headers.entrySet()) {
+            requestBuilder.header(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : options.getHeaders().entrySet()) {
+            requestBuilder.header(entry.getKey(), entry.getValue());
+        }
+        if (options.getCacheControl() != null) {
+            requestBuilder.cacheControl(options.getCacheControl());
+        }
+        if (options != RequestOptions.NONE) {
+            requestBuilder.tag(RequestOptions.class, options);
+        }
+        return requestBuilder;
+    }
+
+    /**
+     * Cria a chamada aplicando os timeouts das opções da requisição, quando houver.
+     * O cliente derivado continua compartilhando conexões e threads com o cliente do serviço
+     */
+    private Call newCall(Request request) {
+        RequestOptions options = request.tag(RequestOptions.class);
+        if (options == null) {
+            return this.http.newCall(request);
+        }
+
+        OkHttpClient client = this.http;
+        if (options.hasTimeoutOverrides()) {
+            OkHttpClient.Builder clientBuilder = this.http.newBuilder();
+            if (options.getConnectTimeoutMillis() != 0) {
+                clientBuilder.connectTimeout(options.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (options.getReadTimeoutMillis() != 0) {
+                clientBuilder.readTimeout(options.getReadTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (options.getWriteTimeoutMillis() != 0) {
+                clientBuilder.writeTimeout(options.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            client = clientBuilder.build();
+        }
+        Call call = client.newCall(request);
+        if (options.getCallTimeoutMillis() != 0) {
+            call.timeout().timeout(options.getCallTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        return call;
+    }
+
+    /**
+     * Get Properties
+     * Os métodos abaixo se referem à última chamada síncrona feita pela thread atual
+     */
+    public SingleFlight getSingleFlight() {
+        return this.singleFlight;
+    }
+
+    public HttpResult<?> getLastResult() {
+        HttpResult<?> result = this.lastResult.get();
+        if (result == null) {
+            throw new IllegalStateException("Nenhuma requisição foi feita por esta thread");
+        }
+        return result;
+    }
+
+    public int getStatusCode() {
+        return this.getLastResult().getStatusCode();
+    }
+
+    public Response getResponse() {
+        return this.getLastResult().getResponse();
+    }
+
+    public boolean isSuccessful() {
+        return this.getLastResult().isSuccessful();
+    }
+
+    /**
+     * Retorna null a menos que isResponseStringEnabled(true) tenha sido configurado
+     */
     public String getResponseString() {
-        return this.responseStringReturned;
+        return this.getLastResult().getResponseString();
 
     }
 
     public String getHeader(String header, String defaultValue) {
-        return this.response.header(header, defaultValue);
+        return this.getLastResult().getHeader(header, defaultValue);
     }
 
     public static boolean isNullOrEmpty(String texto) {
@@ -0,0 +1,194 @@
+package br.com.httpdroid;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.HttpUrl;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Opções de uma única chamada: filtros, headers, parâmetros de caminho, timeouts e cache.
+ * São combinadas com as configurações do HttpService no momento em que a requisição é criada,
+ * e têm prioridade sobre elas. Assim um único serviço pode atender consultas diferentes
+ * sem precisar ser recriado.
+ */
+public final class RequestOptions {
+
+    public static final RequestOptions NONE = new Builder().build();
+
+    private final Map<String, String> filters;
+    private final Map<String, String> headers;
+    private final Map<String, String> pathParams;
+    private final CacheControl cacheControl;
+
+    /**
+     * URL completa da requisição, substituindo a URL montada pelo serviço (ex: link da próxima
+     * página). Os filtros do serviço não são adicionados a ela
+     */
+    private final HttpUrl url;
+
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long writeTimeoutMillis;
+
+    /**
+     * Tempo máximo da chamada completa (DNS, conexão, envio e leitura da resposta)
+     */
+    private final long callTimeoutMillis;
+
+    private RequestOptions(Builder builder) {
+        this.filters = Collections.unmodifiableMap(new LinkedHashMap<>(builder.filters));
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.pathParams = Collections.unmodifiableMap(new LinkedHashMap<>(builder.pathParams));
+        this.cacheControl = builder.cacheControl;
+        this.url = builder.url;
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.readTimeoutMillis = builder.readTimeoutMillis;
+        this.writeTimeoutMillis = builder.writeTimeoutMillis;
+        this.callTimeoutMillis = builder.callTimeoutMillis;
+    }
+
+    /**
+     * Cria um builder com todas as opções desta instância, para derivar novas opções
+     */
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    public boolean hasTimeoutOverrides() {
+        return this.connectTimeoutMillis != 0 || this.readTimeoutMillis != 0 || this.writeTimeoutMillis != 0;
+    }
+
+    /**
+     * Get Properties
+     */
+    public Map<String, String> getFilters() {
+        return this.filters;
+    }
+
+    public Map<String, String> getHeaders() {
+        return this.headers;
+    }
+
+    public Map<String, String> getPathParams() {
+        return this.pathParams;
+    }
+
+    public CacheControl getCacheControl() {
+        return this.cacheControl;
+    }
+
+    public HttpUrl getUrl() {
+        return this.url;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return this.connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return this.readTimeoutMillis;
+    }
+
+    public long getWriteTimeoutMillis() {
+        return this.writeTimeoutMillis;
+    }
+
+    public long getCallTimeoutMillis() {
+        return this.callTimeoutMillis;
+    }
+
+    public static class Builder {
+
+        private final Map<String, String> filters = new LinkedHashMap<>();
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final Map<String, String> pathParams = new LinkedHashMap<>();
+        private CacheControl cacheControl;
+        private HttpUrl url;
+        private long connectTimeoutMillis = 0;
+        private long readTimeoutMillis = 0;
+        private long writeTimeoutMillis = 0;
+        private long callTimeoutMillis = 0;
+
+        public Builder() {
+        }
+
+        private Builder(RequestOptions options) {
+            this.filters.putAll(options.filters);
+            this.headers.putAll(options.headers);
+            this.pathParams.putAll(options.pathParams);
+            this.cacheControl = options.cacheControl;
+            this.url = options.url;
+            this.connectTimeoutMillis = options.connectTimeoutMillis;
+            this.readTimeoutMillis = options.readTimeoutMillis;
+            this.writeTimeoutMillis = options.writeTimeoutMillis;
+            this.callTimeoutMillis = options.callTimeoutMillis;
+        }
+
+        /**
+         * Substitui o filtro de mesmo nome configurado no serviço
+         */
+        public Builder addFilter(String name, String value) {
+            this.filters.put(name, value);
+            return this;
+        }
+
+        public Builder addFilters(Map<String, String> filters) {
+            this.filters.putAll(filters);
+            return this;
+        }
+
+        public Builder addHeader(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        public Builder addHeaders(Map<String, String> headers) {
+            this.headers.putAll(headers);
+            return this;
+        }
+
+        public Builder addPathParam(String name, String value) {
+            this.pathParams.put(name, value);
+            return this;
+        }
+
+        public Builder addCacheControl(CacheControl cacheControl) {
+            this.cacheControl = cacheControl;
+            return this;
+        }
+
+        public Builder addUrl(HttpUrl url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder addConnectionTimeout(int timeout, TimeUnit timeUnit) {
+            this.connectTimeoutMillis = timeUnit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder addReadTimeout(int timeout, TimeUnit timeUnit) {
+            this.readTimeoutMillis = timeUnit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder addWriteTimeout(int timeout, TimeUnit timeUnit) {
+            this.writeTimeoutMillis = timeUnit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder addCallTimeout(int timeout, TimeUnit timeUnit) {
+            this.callTimeoutMillis = timeUnit.toMillis(timeout);
+            return this;
+        }
+
+        public RequestOptions build() {
+            return new RequestOptions(this);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.httpdroid.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Marca o campo utilizado como id no método de PUT, dispensando setIdPropertyName()
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface HttpId {
+}
@@ -0,0 +1,101 @@
+package br.com.httpdroid.async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Executor padrão utilizado para desserializar as respostas assíncronas fora das threads
+ * do Dispatcher do OkHttp
+ */
+public final class AsyncExecutors {
+
+    private static volatile Executor defaultExecutor;
+    private static volatile Executor transferExecutor;
+    private static volatile ScheduledExecutorService scheduler;
+
+    private AsyncExecutors() {
+    }
+
+    public static Executor getDefault() {
+        if (defaultExecutor == null) {
+            synchronized (AsyncExecutors.class) {
+                if (defaultExecutor == null) {
+                    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                            newThreadFactory("HttpDroid-decode-"));
+                    executor.allowCoreThreadTimeOut(true);
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Executor das transferências longas (upload e download de arquivos), separado do executor
+     * de desserialização para que uma transferência não atrase as demais respostas
+     */
+    public static Executor getTransfers() {
+        if (transferExecutor == null) {
+            synchronized (AsyncExecutors.class) {
+                if (transferExecutor == null) {
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                            30, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                            newThreadFactory("HttpDroid-transfer-"));
+                    transferExecutor = executor;
+                }
+            }
+        }
+        return transferExecutor;
+    }
+
+    /**
+     * Agendador das tarefas com atraso (ex: requisições hedge). As tarefas devem ser curtas,
+     * pois uma única thread atende todas
+     */
+    public static ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (AsyncExecutors.class) {
+                if (scheduler == null) {
+                    scheduler = new ScheduledThreadPoolExecutor(1, newThreadFactory("HttpDroid-scheduler-"));
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Executa a tarefa na própria thread que a submeteu
+     */
+    public static Executor direct() {
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+    }
+
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        return new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
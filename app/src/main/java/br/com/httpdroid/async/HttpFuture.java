@@ -0,0 +1,218 @@
+package br.com.httpdroid.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import br.com.httpdroid.interfaces.IHttpCallback;
+import br.com.httpdroid.interfaces.ITransformer;
+import okhttp3.Call;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Resultado de uma requisição assíncrona. Permite aguardar o resultado, registrar callbacks,
+ * encadear transformações com then() e cancelar a chamada do OkHttp.
+ * (CompletableFuture não é utilizado pois requer API 24)
+ */
+public class HttpFuture<T> implements Future<T> {
+
+    private static final int PENDENTE = 0;
+    private static final int SUCESSO = 1;
+    private static final int FALHA = 2;
+    private static final int CANCELADO = 3;
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    private volatile Call call;
+    private volatile HttpFuture<?> upstream;
+    private int state = PENDENTE;
+    private T result;
+    private Throwable error;
+
+    public HttpFuture() {
+    }
+
+    public HttpFuture(Call call) {
+        this.call = call;
+    }
+
+    public static <T> HttpFuture<T> completed(T value) {
+        HttpFuture<T> future = new HttpFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    public static <T> HttpFuture<T> failed(Throwable error) {
+        HttpFuture<T> future = new HttpFuture<>();
+        future.fail(error);
+        return future;
+    }
+
+    /**
+     * Associa a chamada do OkHttp para que cancel() a interrompa
+     */
+    public void setCall(Call call) {
+        this.call = call;
+        if (this.isCancelled()) {
+            call.cancel();
+        }
+    }
+
+    public boolean complete(T value) {
+        return this.finish(SUCESSO, value, null);
+    }
+
+    public boolean fail(Throwable error) {
+        return this.finish(FALHA, null, error);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = this.finish(CANCELADO, null, new CancellationException());
+        if (cancelled) {
+            Call call = this.call;
+            if (call != null) {
+                call.cancel();
+            }
+            HttpFuture<?> upstream = this.upstream;
+            if (upstream != null) {
+                upstream.cancel(mayInterruptIfRunning);
+            }
+        }
+        return cancelled;
+    }
+
+    private boolean finish(int newState, T value, Throwable error) {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (this.state != PENDENTE) {
+                return false;
+            }
+            this.state = newState;
+            this.result = value;
+            this.error = error;
+            pending = new ArrayList<>(this.listeners);
+            this.listeners.clear();
+        }
+        this.latch.countDown();
+        for (Runnable listener : pending) {
+            listener.run();
+        }
+        return true;
+    }
+
+    /**
+     * Registra um callback executado na thread que concluir a requisição
+     */
+    public HttpFuture<T> addCallback(IHttpCallback<T> callback) {
+        return this.addCallback(callback, AsyncExecutors.direct());
+    }
+
+    /**
+     * Registra um callback executado no executor informado (ex: a thread principal do Android)
+     */
+    public HttpFuture<T> addCallback(final IHttpCallback<T> callback, final Executor executor) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        dispatch(callback);
+                    }
+                });
+            }
+        };
+        synchronized (this) {
+            if (this.state == PENDENTE) {
+                this.listeners.add(listener);
+                return this;
+            }
+        }
+        listener.run();
+        return this;
+    }
+
+    /**
+     * Cria um novo futuro com o resultado transformado. Falhas e cancelamentos são propagados
+     */
+    public <R> HttpFuture<R> then(final ITransformer<T, R> transformer) {
+        final HttpFuture<R> next = new HttpFuture<>();
+        next.upstream = this;
+        this.addCallback(new IHttpCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                try {
+                    next.complete(transformer.apply(value));
+                } catch (Exception e) {
+                    next.fail(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                next.fail(error);
+            }
+        });
+        return next;
+    }
+
+    private void dispatch(IHttpCallback<T> callback) {
+        T value;
+        Throwable error;
+        int state;
+        synchronized (this) {
+            value = this.result;
+            error = this.error;
+            state = this.state;
+        }
+        if (state == SUCESSO) {
+            callback.onSuccess(value);
+        } else {
+            callback.onFailure(error);
+        }
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return this.state == CANCELADO;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return this.state != PENDENTE;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        this.latch.await();
+        return this.getResult();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!this.latch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return this.getResult();
+    }
+
+    private synchronized T getResult() throws ExecutionException {
+        if (this.state == SUCESSO) {
+            return this.result;
+        }
+        if (this.state == CANCELADO) {
+            throw (CancellationException) this.error;
+        }
+        throw new ExecutionException(this.error);
+    }
+}
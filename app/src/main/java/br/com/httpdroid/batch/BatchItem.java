@@ -0,0 +1,50 @@
+package br.com.httpdroid.batch;
+
+import br.com.httpdroid.HttpResult;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Resultado de um único item de uma operação em lote
+ */
+public final class BatchItem<T> {
+
+    private final int index;
+    private final HttpResult<T> result;
+    private final Throwable error;
+
+    public BatchItem(int index, HttpResult<T> result, Throwable error) {
+        this.index = index;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * O item é considerado com sucesso apenas se a requisição foi concluída com status 2xx
+     */
+    public boolean isSuccessful() {
+        return this.error == null && this.result != null && this.result.isSuccessful();
+    }
+
+    /**
+     * Get Properties
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    public T getBody() {
+        return this.result != null ? this.result.getBody() : null;
+    }
+
+    /**
+     * Retorna null quando a requisição falhou antes de receber uma resposta
+     */
+    public HttpResult<T> getResult() {
+        return this.result;
+    }
+
+    public Throwable getError() {
+        return this.error;
+    }
+}
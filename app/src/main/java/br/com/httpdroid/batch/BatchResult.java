@@ -0,0 +1,68 @@
+package br.com.httpdroid.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Resultado de uma operação em lote. Os itens seguem a mesma ordem da coleção enviada
+ */
+public final class BatchResult<T> {
+
+    private final List<BatchItem<T>> items;
+
+    public BatchResult(List<BatchItem<T>> items) {
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    public List<T> getBodies() {
+        List<T> bodies = new ArrayList<>();
+        for (BatchItem<T> item : this.items) {
+            if (item.isSuccessful()) {
+                bodies.add(item.getBody());
+            }
+        }
+        return bodies;
+    }
+
+    public List<BatchItem<T>> getFailures() {
+        List<BatchItem<T>> failures = new ArrayList<>();
+        for (BatchItem<T> item : this.items) {
+            if (!item.isSuccessful()) {
+                failures.add(item);
+            }
+        }
+        return failures;
+    }
+
+    public boolean isAllSuccessful() {
+        return this.getFailureCount() == 0;
+    }
+
+    /**
+     * Get Properties
+     */
+    public List<BatchItem<T>> getItems() {
+        return this.items;
+    }
+
+    public int size() {
+        return this.items.size();
+    }
+
+    public int getSuccessCount() {
+        return this.items.size() - this.getFailureCount();
+    }
+
+    public int getFailureCount() {
+        int failures = 0;
+        for (BatchItem<T> item : this.items) {
+            if (!item.isSuccessful()) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.httpdroid.breaker;
+
+import java.io.IOException;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * A requisição foi recusada localmente, sem ir à rede: o circuito do host está aberto ou o
+ * limite de concorrência foi atingido. Não é repetida pela RetryPolicy
+ */
+public class CallRejectedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String CIRCUIT_OPEN = "circuit-open";
+    public static final String LIMIT_EXCEEDED = "limit-exceeded";
+
+    private final String key;
+    private final String reason;
+
+    public CallRejectedException(String key, String reason) {
+        super("Requisição para " + key + " recusada: " + reason);
+        this.key = key;
+        this.reason = reason;
+    }
+
+    /**
+     * Get Properties
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    public String getReason() {
+        return this.reason;
+    }
+}
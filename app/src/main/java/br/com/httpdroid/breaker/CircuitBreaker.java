@@ -0,0 +1,174 @@
+package br.com.httpdroid.breaker;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Circuit breaker de um host (ou endpoint), com janela deslizante das últimas windowSize
+ * chamadas:
+ *
+ * - CLOSED: as chamadas passam. Com pelo menos minimumCalls na janela, se a taxa de falhas ou
+ *   de chamadas lentas atingir o limite o circuito abre.
+ * - OPEN: as chamadas são recusadas imediatamente durante openDuration.
+ * - HALF_OPEN: apenas halfOpenCalls chamadas de teste passam. Todas bem sucedidas fecham o
+ *   circuito; qualquer falha o abre novamente.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    /**
+     * Resultado das últimas chamadas: bit 1 = falha, bit 2 = lenta
+     */
+    private final byte[] window;
+    private int windowIndex = 0;
+    private int windowCount = 0;
+    private int failureCount = 0;
+    private int slowCount = 0;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long slowCallNanos,
+                   int slowCallRateThreshold, long openNanos, int halfOpenCalls) {
+        this.window = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * Retorna null quando a chamada deve ser recusada, ou o estado anterior à autorização.
+     * Após openDuration o circuito passa para HALF_OPEN e libera as chamadas de teste: o
+     * retorno OPEN indica que esta chamada fez essa transição
+     */
+    synchronized State tryAcquire() {
+        State before = this.state;
+        if (this.state == State.OPEN) {
+            if (System.nanoTime() - this.openedAtNanos < this.openNanos) {
+                return null;
+            }
+            this.state = State.HALF_OPEN;
+            this.halfOpenPermits = this.halfOpenCalls;
+            this.halfOpenSuccesses = 0;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.halfOpenPermits == 0) {
+                return null;
+            }
+            this.halfOpenPermits--;
+        }
+        return before;
+    }
+
+    /**
+     * Devolve a permissão de uma chamada autorizada que não chegou a ser feita
+     */
+    synchronized void releasePermit() {
+        if (this.state == State.HALF_OPEN && this.halfOpenPermits < this.halfOpenCalls) {
+            this.halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Registra o resultado de uma chamada autorizada por tryAcquire(). Retorna a mudança de
+     * estado causada pelo resultado, ou null quando o estado não mudou
+     */
+    synchronized Transition record(boolean failure, long durationNanos) {
+        boolean slow = this.slowCallNanos > 0 && durationNanos >= this.slowCallNanos;
+        if (this.state == State.HALF_OPEN) {
+            if (failure || slow) {
+                this.open();
+                return new Transition(State.HALF_OPEN, State.OPEN);
+            }
+            if (++this.halfOpenSuccesses >= this.halfOpenCalls) {
+                this.state = State.CLOSED;
+                this.clearWindow();
+                return new Transition(State.HALF_OPEN, State.CLOSED);
+            }
+            return null;
+        }
+        if (this.state == State.OPEN) {
+            return null;
+        }
+
+        if (this.windowCount == this.window.length) {
+            byte oldest = this.window[this.windowIndex];
+            this.failureCount -= oldest & 1;
+            this.slowCount -= (oldest >> 1) & 1;
+        } else {
+            this.windowCount++;
+        }
+        this.window[this.windowIndex] = (byte) ((failure ? 1 : 0) | (slow ? 2 : 0));
+        this.windowIndex = (this.windowIndex + 1) % this.window.length;
+        this.failureCount += failure ? 1 : 0;
+        this.slowCount += slow ? 1 : 0;
+
+        if (this.windowCount >= this.minimumCalls
+                && (this.failureCount * 100 >= this.failureRateThreshold * this.windowCount
+                || (this.slowCallNanos > 0 && this.slowCount * 100 >= this.slowCallRateThreshold * this.windowCount))) {
+            this.open();
+            return new Transition(State.CLOSED, State.OPEN);
+        }
+        return null;
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAtNanos = System.nanoTime();
+        this.clearWindow();
+    }
+
+    private void clearWindow() {
+        this.windowIndex = 0;
+        this.windowCount = 0;
+        this.failureCount = 0;
+        this.slowCount = 0;
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * Porcentagem de falhas na janela atual
+     */
+    public synchronized int getFailureRate() {
+        return this.windowCount == 0 ? 0 : this.failureCount * 100 / this.windowCount;
+    }
+
+    public synchronized int getSlowCallRate() {
+        return this.windowCount == 0 ? 0 : this.slowCount * 100 / this.windowCount;
+    }
+
+    /**
+     * Mudança de estado, lida dentro do lock de quem a causou
+     */
+    static final class Transition {
+        final State from;
+        final State to;
+
+        private Transition(State from, State to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.httpdroid.breaker;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Limite adaptativo de requisições simultâneas de um host (AIMD guiado pela latência, no
+ * estilo do TCP Vegas):
+ *
+ * - A menor latência observada é a referência do host sem fila.
+ * - Respostas com latência até "tolerance" vezes a referência aumentam o limite em 1/limite
+ *   (cerca de +1 a cada limite respostas), desde que o limite esteja sendo utilizado.
+ * - Falhas, timeouts e latências acima disso multiplicam o limite por backoffRatio.
+ *
+ * Acima do limite as requisições síncronas aguardam em uma fila limitada (maxQueued, maxWait)
+ * e depois são recusadas, em vez de acumular threads bloqueadas em um host degradado. As
+ * assíncronas são recusadas imediatamente, já que aguardar ocuparia uma thread e uma vaga do
+ * Dispatcher do OkHttp.
+ *
+ * A vaga é ocupada até o corpo da resposta ser fechado; o limite é ajustado pela latência até
+ * os headers.
+ */
+public class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double TOLERANCE = 2.0;
+
+    /**
+     * A referência é renovada periodicamente para acompanhar mudanças de rota ou de servidor
+     */
+    private static final int MIN_RTT_RESET_SAMPLES = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private double limit;
+    private int inFlight = 0;
+    private int queued = 0;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samples = 0;
+    private long rejectedCount = 0;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued, long maxWaitNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWaitNanos = Math.max(0, maxWaitNanos);
+    }
+
+    /**
+     * Ocupa uma vaga, aguardando na fila se "queue" for true. Retorna false quando a fila está
+     * cheia ou o tempo de espera acabou
+     */
+    synchronized boolean acquire(boolean queue) throws InterruptedException {
+        if (this.inFlight < (int) this.limit) {
+            this.inFlight++;
+            return true;
+        }
+        if (!queue || this.queued >= this.maxQueued || this.maxWaitNanos == 0) {
+            this.rejectedCount++;
+            return false;
+        }
+        this.queued++;
+        try {
+            long deadline = System.nanoTime() + this.maxWaitNanos;
+            while (this.inFlight >= (int) this.limit) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    this.rejectedCount++;
+                    return false;
+                }
+                this.wait(remaining / 1000000L, (int) (remaining % 1000000L));
+            }
+            this.inFlight++;
+            return true;
+        } finally {
+            this.queued--;
+        }
+    }
+
+    /**
+     * Ajusta o limite com a latência de uma chamada que ainda ocupa a vaga. Retorna o limite
+     * anterior (inteiro), para notificar mudanças
+     */
+    synchronized int onSample(long rttNanos, boolean dropped) {
+        int previous = (int) this.limit;
+        boolean utilized = this.inFlight * 2 >= previous;
+
+        if (++this.samples % MIN_RTT_RESET_SAMPLES == 0) {
+            this.minRttNanos = rttNanos;
+        } else if (!dropped) {
+            this.minRttNanos = Math.min(this.minRttNanos, rttNanos);
+        }
+
+        if (dropped || rttNanos > this.minRttNanos * TOLERANCE) {
+            this.limit = Math.max(this.minLimit, this.limit * BACKOFF_RATIO);
+        } else if (utilized) {
+            this.limit = Math.min(this.maxLimit, this.limit + 1.0 / this.limit);
+        }
+        this.notifyAll();
+        return previous;
+    }
+
+    /**
+     * Libera a vaga (corpo da resposta fechado, falha ou cancelamento)
+     */
+    synchronized void release() {
+        this.inFlight--;
+        this.notifyAll();
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized int getLimit() {
+        return (int) this.limit;
+    }
+
+    public synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return this.queued;
+    }
+
+    public synchronized long getRejectedCount() {
+        return this.rejectedCount;
+    }
+}
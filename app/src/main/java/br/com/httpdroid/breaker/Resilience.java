@@ -0,0 +1,394 @@
+package br.com.httpdroid.breaker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.interfaces.IResilienceListener;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import br.com.httpdroid.pool.ConnectionWarmUp;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Circuit breaker e limite adaptativo de concorrência por host (ou por endpoint, com
+ * isPerEndpointEnabled(true)), aplicados como interceptor. Quando um backend degrada as
+ * chamadas para ele falham rapidamente com CallRejectedException, em vez de ocupar threads
+ * até o readTimeout, e os demais hosts não são afetados.
+ *
+ * São consideradas falhas as IOExceptions e os status 5xx. Respostas 429 reduzem o limite de
+ * concorrência mas não contam para o circuito.
+ *
+ * As chamadas assíncronas também são limitadas pelo Dispatcher do OkHttp, compartilhado pelos
+ * serviços do pool (HttpClientPool.DEFAULT_MAX_REQUESTS_PER_HOST por padrão). O limite de
+ * concorrência só cresce quando ao menos metade dele está em uso, portanto com apenas chamadas
+ * assíncronas ele não passa de 2x maxRequestsPerHost. Para limites maiores utilize
+ * HttpClientPool.setMaxRequestsPerHost().
+ */
+public class Resilience implements Interceptor {
+
+    private final boolean circuitBreakerEnabled;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final boolean concurrencyLimitEnabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private final boolean perEndpointEnabled;
+    private final IResilienceListener listener;
+    private final ConcurrentHashMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+    private Resilience(Builder builder) {
+        this.circuitBreakerEnabled = builder.circuitBreakerEnabled;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallNanos = builder.slowCallNanos;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.openNanos = builder.openNanos;
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.concurrencyLimitEnabled = builder.concurrencyLimitEnabled;
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.maxQueued = builder.maxQueued;
+        this.maxWaitNanos = builder.maxWaitNanos;
+        this.perEndpointEnabled = builder.perEndpointEnabled;
+        this.listener = builder.listener;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (ConnectionWarmUp.isWarmUp(request)) {
+            return chain.proceed(request);
+        }
+        String key = this.keyOf(request);
+        Guard guard = this.guardOf(key);
+
+        CircuitBreaker breaker = guard.breaker;
+        if (breaker != null) {
+            CircuitBreaker.State before = breaker.tryAcquire();
+            if (before == null) {
+                throw this.reject(key, CallRejectedException.CIRCUIT_OPEN);
+            }
+            if (before == CircuitBreaker.State.OPEN) {
+                this.notifyState(key, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN);
+            }
+        }
+        ConcurrencyLimiter limiter = guard.limiter;
+        if (limiter != null) {
+            // Chamadas assíncronas do HttpService não aguardam na fila (ocupariam o Dispatcher)
+            boolean queue = request.tag(HttpFuture.class) == null;
+            boolean acquired;
+            try {
+                acquired = limiter.acquire(queue);
+            } catch (InterruptedException e) {
+                if (breaker != null) {
+                    breaker.releasePermit();
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Aguardando vaga para " + key);
+            }
+            if (!acquired) {
+                // A chamada autorizada pelo circuito não chegou a ser feita
+                if (breaker != null) {
+                    breaker.releasePermit();
+                }
+                throw this.reject(key, CallRejectedException.LIMIT_EXCEEDED);
+            }
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            if (chain.call().isCanceled()) {
+                // Cancelamentos (ex: o hedge perdedor) não dizem nada sobre a saúde do host
+                if (breaker != null) {
+                    breaker.releasePermit();
+                }
+            } else {
+                this.complete(key, breaker, limiter, true, true, System.nanoTime() - start);
+            }
+            if (limiter != null) {
+                limiter.release();
+            }
+            throw e;
+        }
+        boolean failure = response.code() >= 500;
+        boolean dropped = failure || response.code() == 429;
+        this.complete(key, breaker, limiter, failure, dropped, System.nanoTime() - start);
+        if (limiter == null) {
+            return response;
+        }
+        return this.releaseOnClose(response, limiter);
+    }
+
+    private void complete(String key, CircuitBreaker breaker, ConcurrencyLimiter limiter, boolean failure,
+                          boolean dropped, long durationNanos) {
+        if (breaker != null) {
+            CircuitBreaker.Transition transition = breaker.record(failure, durationNanos);
+            if (transition != null) {
+                this.notifyState(key, transition.from, transition.to);
+            }
+        }
+        if (limiter != null) {
+            int previous = limiter.onSample(durationNanos, dropped);
+            int current = limiter.getLimit();
+            if (this.listener != null && previous != current) {
+                this.listener.onConcurrencyLimitChange(key, previous, current);
+            }
+        }
+    }
+
+    /**
+     * A vaga continua ocupada enquanto o corpo é lido, já que a conexão ainda está em uso
+     */
+    private Response releaseOnClose(Response response, final ConcurrencyLimiter limiter) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            limiter.release();
+            return response;
+        }
+        Source source = new ForwardingSource(body.source()) {
+            private boolean released = false;
+
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read;
+                try {
+                    read = super.read(sink, byteCount);
+                } catch (IOException e) {
+                    this.release();
+                    throw e;
+                }
+                if (read == -1) {
+                    this.release();
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                this.release();
+                super.close();
+            }
+
+            private synchronized void release() {
+                if (!this.released) {
+                    this.released = true;
+                    limiter.release();
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
+                .build();
+    }
+
+    private void notifyState(String key, CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (this.listener != null && from != to) {
+            this.listener.onCircuitStateChange(key, from, to);
+        }
+    }
+
+    private CallRejectedException reject(String key, String reason) {
+        if (this.listener != null) {
+            this.listener.onRejected(key, reason);
+        }
+        return new CallRejectedException(key, reason);
+    }
+
+    private String keyOf(Request request) {
+        HttpUrl url = request.url();
+        if (this.perEndpointEnabled) {
+            return MetricsEventListener.endpointOf(request.method(), url);
+        }
+        return url.host() + ":" + url.port();
+    }
+
+    private Guard guardOf(String key) {
+        Guard guard = this.guards.get(key);
+        if (guard == null) {
+            Guard created = new Guard();
+            guard = this.guards.putIfAbsent(key, created);
+            if (guard == null) {
+                guard = created;
+            }
+        }
+        return guard;
+    }
+
+    /**
+     * Get Properties
+     */
+    public CircuitBreaker getCircuitBreaker(String key) {
+        Guard guard = this.guards.get(key);
+        return guard == null ? null : guard.breaker;
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter(String key) {
+        Guard guard = this.guards.get(key);
+        return guard == null ? null : guard.limiter;
+    }
+
+    /**
+     * Estado do circuito de cada host (ou endpoint) já acessado
+     */
+    public Map<String, CircuitBreaker.State> getCircuitStates() {
+        Map<String, CircuitBreaker.State> states = new HashMap<>();
+        for (Map.Entry<String, Guard> entry : this.guards.entrySet()) {
+            if (entry.getValue().breaker != null) {
+                states.put(entry.getKey(), entry.getValue().breaker.getState());
+            }
+        }
+        return Collections.unmodifiableMap(states);
+    }
+
+    /**
+     * Circuito e limite de um host (ou endpoint)
+     */
+    private final class Guard {
+        private final CircuitBreaker breaker;
+        private final ConcurrencyLimiter limiter;
+
+        private Guard() {
+            this.breaker = !circuitBreakerEnabled ? null : new CircuitBreaker(windowSize, minimumCalls,
+                    failureRateThreshold, slowCallNanos, slowCallRateThreshold, openNanos, halfOpenCalls);
+            this.limiter = !concurrencyLimitEnabled ? null : new ConcurrencyLimiter(initialLimit, minLimit,
+                    maxLimit, maxQueued, maxWaitNanos);
+        }
+    }
+
+    public static class Builder {
+
+        private boolean circuitBreakerEnabled = true;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private long slowCallNanos = 0;
+        private int slowCallRateThreshold = 100;
+        private long openNanos = TimeUnit.SECONDS.toNanos(10);
+        private int halfOpenCalls = 3;
+
+        private boolean concurrencyLimitEnabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private int maxQueued = 50;
+        private long maxWaitNanos = TimeUnit.SECONDS.toNanos(1);
+
+        private boolean perEndpointEnabled = false;
+        private IResilienceListener listener;
+
+        public Builder isCircuitBreakerEnabled(boolean enabled) {
+            this.circuitBreakerEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Janela com as últimas windowSize chamadas. O circuito só é avaliado com pelo menos
+         * minimumCalls chamadas na janela
+         */
+        public Builder addSlidingWindow(int windowSize, int minimumCalls) {
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Porcentagem de falhas na janela que abre o circuito (padrão 50)
+         */
+        public Builder addFailureRateThreshold(int percent) {
+            this.failureRateThreshold = percent;
+            return this;
+        }
+
+        /**
+         * Chamadas com duração a partir de "duration" são lentas. O circuito abre quando
+         * "percent" da janela é de chamadas lentas. Desabilitado por padrão
+         */
+        public Builder addSlowCallThreshold(long duration, TimeUnit timeUnit, int percent) {
+            this.slowCallNanos = timeUnit.toNanos(duration);
+            this.slowCallRateThreshold = percent;
+            return this;
+        }
+
+        /**
+         * Tempo que o circuito permanece aberto antes das chamadas de teste
+         */
+        public Builder addOpenDuration(long duration, TimeUnit timeUnit) {
+            this.openNanos = timeUnit.toNanos(duration);
+            return this;
+        }
+
+        public Builder addHalfOpenCalls(int calls) {
+            this.halfOpenCalls = calls;
+            return this;
+        }
+
+        public Builder isConcurrencyLimitEnabled(boolean enabled) {
+            this.concurrencyLimitEnabled = enabled;
+            return this;
+        }
+
+        public Builder addConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Requisições síncronas acima do limite aguardam até maxWait, com no máximo maxQueued na
+         * fila. maxQueued = 0 recusa imediatamente. As assíncronas do HttpService nunca aguardam
+         */
+        public Builder addQueue(int maxQueued, long maxWait, TimeUnit timeUnit) {
+            this.maxQueued = maxQueued;
+            this.maxWaitNanos = timeUnit.toNanos(maxWait);
+            return this;
+        }
+
+        /**
+         * Um circuito e um limite para cada endpoint (método + host + caminho) em vez de um por host
+         */
+        public Builder isPerEndpointEnabled(boolean enabled) {
+            this.perEndpointEnabled = enabled;
+            return this;
+        }
+
+        public Builder addListener(IResilienceListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public Resilience build() {
+            return new Resilience(this);
+        }
+    }
+}
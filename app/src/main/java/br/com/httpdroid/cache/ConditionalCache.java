@@ -0,0 +1,144 @@
+package br.com.httpdroid.cache;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.httpdroid.HttpResult;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Guarda, por URL e tipo desserializado, os validadores (ETag e Last-Modified) da última resposta junto com o objeto
+ * já desserializado. Os GETs seguintes enviam If-None-Match / If-Modified-Since e, quando o
+ * servidor responde 304, o objeto guardado é retornado sem baixar nem desserializar o corpo.
+ *
+ * Diferente do MemoryCache, toda chamada vai ao servidor: o conteúdo nunca fica desatualizado,
+ * economizando apenas a transferência e a desserialização. Indicado para endpoints consultados
+ * periodicamente (polling). Os objetos guardados são compartilhados entre as chamadas,
+ * portanto não devem ser alterados.
+ */
+public class ConditionalCache {
+
+    private final int maxEntries;
+    private final List<String> varyHeaders = new ArrayList<>();
+    private final LinkedHashMap<String, HttpResult<?>> entries;
+
+    private long notModifiedCount;
+    private long modifiedCount;
+
+    public ConditionalCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, HttpResult<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HttpResult<?>> eldest) {
+                return size() > ConditionalCache.this.maxEntries;
+            }
+        };
+        Collections.addAll(this.varyHeaders, "Authorization", "Accept", "Accept-Language");
+    }
+
+    /**
+     * Adiciona um header que faz parte da chave (além de Authorization, Accept e Accept-Language)
+     */
+    public ConditionalCache addVaryHeader(String header) {
+        synchronized (this) {
+            this.varyHeaders.add(header);
+        }
+        return this;
+    }
+
+    /**
+     * Resultado guardado para a requisição, utilizado caso o servidor responda 304
+     */
+    public synchronized <T> HttpResult<T> get(Request request, Type type) {
+        return typed(this.entries.get(MemoryCache.keyOf(request, this.varyHeaders, type)));
+    }
+
+    /**
+     * Adiciona If-None-Match / If-Modified-Since a partir dos headers do resultado guardado.
+     * Requisições que já informam algum dos dois não são alteradas
+     */
+    public Request addValidators(Request request, HttpResult<?> stored) {
+        if (request.header("If-None-Match") != null || request.header("If-Modified-Since") != null) {
+            return request;
+        }
+        Request.Builder builder = request.newBuilder();
+        String etag = stored.getHeader("ETag", null);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        String lastModified = stored.getHeader("Last-Modified", null);
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Guarda o resultado quando a resposta possui ETag ou Last-Modified. Resultados de
+     * respostas 304 mantêm a entrada atual
+     */
+    public synchronized <T> void put(Request request, Type type, HttpResult<T> result) {
+        if (result.isNotModified()) {
+            this.notModifiedCount++;
+            return;
+        }
+        String key = MemoryCache.keyOf(request, this.varyHeaders, type);
+        if (result.getHeader("ETag", null) == null && result.getHeader("Last-Modified", null) == null) {
+            this.entries.remove(key);
+            return;
+        }
+        this.modifiedCount++;
+        this.entries.put(key, result);
+    }
+
+    /**
+     * Remove todas as entradas da URL informada, independente dos filtros e headers utilizados
+     */
+    public synchronized void invalidate(HttpUrl url) {
+        MemoryCache.removeUrl(this.entries.keySet().iterator(), url);
+    }
+
+    public synchronized void evictAll() {
+        this.entries.clear();
+    }
+
+    /**
+     * O tipo faz parte da chave: a entrada sempre foi guardada com o tipo solicitado
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> HttpResult<T> typed(HttpResult<?> result) {
+        return (HttpResult<T>) result;
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    /**
+     * Respostas 304 atendidas com o objeto guardado
+     */
+    public synchronized long getNotModifiedCount() {
+        return this.notModifiedCount;
+    }
+
+    /**
+     * Respostas com corpo completo que renovaram a entrada
+     */
+    public synchronized long getModifiedCount() {
+        return this.modifiedCount;
+    }
+}
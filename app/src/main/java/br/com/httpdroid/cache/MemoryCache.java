@@ -0,0 +1,202 @@
+package br.com.httpdroid.cache;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.HttpResult;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Cache em memória de resultados já desserializados, com limite de itens (LRU) e tempo de vida.
+ * A chave é formada pela URL final (com filtros), pelos headers que alteram a resposta e pelo
+ * tipo desserializado, permitindo compartilhar uma mesma instância entre vários HttpService.
+ *
+ * Os objetos em cache não são copiados: todas as chamadas que encontram a entrada recebem a
+ * mesma instância, portanto não devem ser alteradas. Para editar um objeto obtido do cache,
+ * altere uma cópia.
+ */
+public class MemoryCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final List<String> varyHeaders = new ArrayList<>();
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    private long generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    public MemoryCache(int maxEntries, long ttl, TimeUnit timeUnit) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = timeUnit.toMillis(ttl);
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > MemoryCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        Collections.addAll(this.varyHeaders, "Authorization", "Accept", "Accept-Language");
+    }
+
+    /**
+     * Adiciona um header que faz parte da chave do cache (além de Authorization, Accept e
+     * Accept-Language)
+     */
+    public MemoryCache addVaryHeader(String header) {
+        synchronized (this) {
+            this.varyHeaders.add(header);
+        }
+        return this;
+    }
+
+    /**
+     * Resultado em cache da requisição, desserializado no tipo informado
+     */
+    public synchronized <T> HttpResult<T> get(Request request, Type type) {
+        String key = this.keyOf(request, type);
+        CacheEntry entry = this.entries.get(key);
+        if (entry == null) {
+            this.missCount++;
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            this.entries.remove(key);
+            this.expirationCount++;
+            this.missCount++;
+            return null;
+        }
+        this.hitCount++;
+        return entry.result();
+    }
+
+    /**
+     * Armazena o resultado de uma requisição iniciada na geração informada (getGeneration()).
+     * Se houve uma invalidação desde então o resultado pode estar desatualizado e é descartado
+     */
+    public synchronized <T> void put(Request request, Type type, HttpResult<T> result, long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+        this.entries.put(this.keyOf(request, type),
+                new CacheEntry(result, System.currentTimeMillis() + this.ttlMillis));
+    }
+
+    /**
+     * Remove todas as entradas da URL informada, independente dos filtros, headers e tipos utilizados
+     */
+    public synchronized void invalidate(HttpUrl url) {
+        this.generation++;
+        removeUrl(this.entries.keySet().iterator(), url);
+    }
+
+    /**
+     * Remove as chaves da URL, com qualquer query string ou header
+     */
+    static void removeUrl(Iterator<String> keys, HttpUrl url) {
+        String prefix = withoutQuery(url);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (key.startsWith(prefix)) {
+                char next = key.length() > prefix.length() ? key.charAt(prefix.length()) : '\n';
+                if (next == '?' || next == '\n') {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized void evictAll() {
+        this.generation++;
+        this.entries.clear();
+    }
+
+    private String keyOf(Request request, Type type) {
+        return keyOf(request, this.varyHeaders, type);
+    }
+
+    /**
+     * Chave formada pela URL final, pelos headers que alteram a resposta e pelo tipo desserializado
+     */
+    static String keyOf(Request request, List<String> varyHeaders, Type type) {
+        StringBuilder key = new StringBuilder(request.url().toString());
+        for (String header : varyHeaders) {
+            String value = request.header(header);
+            if (value != null) {
+                key.append('\n').append(header).append(':').append(value);
+            }
+        }
+        return key.append("\nType:").append(type).toString();
+    }
+
+    private static String withoutQuery(HttpUrl url) {
+        return url.newBuilder().query(null).fragment(null).build().toString();
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Incrementada a cada invalidação. Deve ser lida antes de enviar a requisição cujo
+     * resultado será armazenado
+     */
+    public synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    public synchronized long getExpirationCount() {
+        return this.expirationCount;
+    }
+
+    private static final class CacheEntry {
+        private final HttpResult<?> result;
+        private final long expiresAtMillis;
+
+        private CacheEntry(HttpResult<?> result, long expiresAtMillis) {
+            this.result = result;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        /**
+         * O tipo faz parte da chave: a entrada sempre foi armazenada com o tipo solicitado
+         */
+        @SuppressWarnings("unchecked")
+        private <T> HttpResult<T> result() {
+            return (HttpResult<T>) this.result;
+        }
+    }
+}
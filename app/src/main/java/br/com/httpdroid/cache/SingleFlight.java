@@ -0,0 +1,194 @@
+package br.com.httpdroid.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.interfaces.IHttpCallback;
+import okhttp3.Headers;
+import okhttp3.Request;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Agrupa requisições idênticas em andamento (mesma URL, incluindo filtros, e mesmos headers).
+ * A primeira chamada executa a requisição e as demais aguardam e recebem o mesmo resultado.
+ * Cada chamada recebe a sua própria cópia do futuro: cancelar uma cópia não afeta as demais,
+ * e a promessa compartilhada só é cancelada quando todas as cópias forem canceladas.
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaderCount = new AtomicLong();
+    private final AtomicLong followerCount = new AtomicLong();
+
+    public String keyOf(Request request) {
+        StringBuilder key = new StringBuilder(request.method())
+                .append(' ')
+                .append(request.url());
+        Headers headers = request.headers();
+        for (int i = 0; i < headers.size(); i++) {
+            key.append('\n').append(headers.name(i)).append(':').append(headers.value(i));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Registra a promessa da chamada. Retorna null quando esta chamada passa a ser a responsável
+     * pela requisição (a promessa deve ser concluída por quem chamou, em qualquer caso), ou uma
+     * cópia do futuro de uma chamada idêntica que já está em andamento
+     */
+    public <T> HttpFuture<T> join(final String key, final HttpFuture<T> promise) {
+        final Flight flight = new Flight(promise);
+        while (true) {
+            Flight existing = this.inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                this.leaderCount.incrementAndGet();
+                promise.addCallback(new IHttpCallback<T>() {
+                    @Override
+                    public void onSuccess(T result) {
+                        inFlight.remove(key, flight);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable error) {
+                        inFlight.remove(key, flight);
+                    }
+                });
+                return null;
+            }
+            if (existing.addWaiter()) {
+                this.followerCount.incrementAndGet();
+                HttpFuture<T> shared = existing.promise();
+                return copyOf(shared, existing);
+            }
+            // Todas as cópias da chamada existente foram canceladas: inicia uma nova
+            this.inFlight.remove(key, existing);
+        }
+    }
+
+    /**
+     * Cópia do futuro para o próprio líder de uma chamada assíncrona. Cancelar a cópia só
+     * cancela a promessa quando nenhuma outra chamada aguarda o resultado
+     */
+    public <T> HttpFuture<T> detach(String key, HttpFuture<T> promise) {
+        Flight flight = this.inFlight.get(key);
+        return copyOf(promise, flight != null && flight.promise == promise ? flight : null);
+    }
+
+    private static <T> HttpFuture<T> copyOf(final HttpFuture<T> source, final Flight flight) {
+        final HttpFuture<T> copy = new HttpFuture<>();
+        source.addCallback(new IHttpCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                copy.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                copy.fail(error);
+            }
+        });
+        copy.addCallback(new IHttpCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                if (copy.isCancelled() && flight != null && flight.removeWaiter()) {
+                    source.cancel(true);
+                }
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Aguarda o resultado de uma requisição compartilhada. IOExceptions são repassadas sem
+     * alteração, preservando o tipo (ex: SocketTimeoutException)
+     */
+    public static <T> T await(HttpFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    public long getLeaderCount() {
+        return this.leaderCount.get();
+    }
+
+    /**
+     * Quantidade de chamadas que reaproveitaram uma requisição em andamento
+     */
+    public long getFollowerCount() {
+        return this.followerCount.get();
+    }
+
+    /**
+     * Requisição em andamento e quantas chamadas aguardam o seu resultado. O líder conta como
+     * uma chamada até cancelar a sua cópia (chamadas síncronas nunca cancelam)
+     */
+    private static final class Flight {
+
+        private final HttpFuture<?> promise;
+        private int waiters = 1;
+        private boolean abandoned = false;
+
+        private Flight(HttpFuture<?> promise) {
+            this.promise = promise;
+        }
+
+        /**
+         * A chave inclui método, URL e headers, e cada SingleFlight pertence a um único
+         * HttpService: chamadas com a mesma chave sempre esperam o mesmo tipo de resultado
+         */
+        @SuppressWarnings("unchecked")
+        private <T> HttpFuture<T> promise() {
+            return (HttpFuture<T>) this.promise;
+        }
+
+        private synchronized boolean addWaiter() {
+            if (this.abandoned) {
+                return false;
+            }
+            this.waiters++;
+            return true;
+        }
+
+        /**
+         * Retorna true quando a última chamada desistiu e a promessa deve ser cancelada
+         */
+        private synchronized boolean removeWaiter() {
+            this.waiters--;
+            if (this.waiters == 0 && !this.promise.isDone()) {
+                this.abandoned = true;
+                return true;
+            }
+            return false;
+        }
+    }
+}
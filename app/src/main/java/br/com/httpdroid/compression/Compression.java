@@ -0,0 +1,336 @@
+package br.com.httpdroid.compression;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.httpdroid.interfaces.IContentDecoder;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Compressão das requisições e negociação das codificações de resposta, com medições por
+ * endpoint da economia de bytes e do custo de CPU.
+ *
+ * - Requisições de texto (JSON, XML, text/*) a partir de requestThreshold bytes são enviadas com
+ *   Content-Encoding: gzip, comprimidas em streaming enquanto o corpo é serializado
+ *   (Transfer-Encoding: chunked). Corpos de tamanho desconhecido são sempre comprimidos, pois
+ *   medi-los exigiria serializá-los inteiros em memória. Requer suporte do servidor. Blocos de
+ *   upload com Content-Range são enviados sem alteração.
+ * - Com decodificadores registrados o Accept-Encoding passa a ser enviado por esta classe,
+ *   na ordem de registro (ex: "br, zstd, gzip"), e a resposta é decodificada aqui. Sem
+ *   decodificadores o gzip transparente do próprio OkHttp continua sendo utilizado.
+ */
+public class Compression implements Interceptor {
+
+    private final long requestThreshold;
+    private final Map<String, IContentDecoder> decoders;
+    private final String acceptEncoding;
+    private final ConcurrentHashMap<String, CompressionStats> stats = new ConcurrentHashMap<>();
+
+    private Compression(Builder builder) {
+        this.requestThreshold = builder.requestThreshold;
+        this.decoders = Collections.unmodifiableMap(new LinkedHashMap<>(builder.decoders));
+        StringBuilder acceptEncoding = new StringBuilder();
+        for (String encoding : this.decoders.keySet()) {
+            if (acceptEncoding.length() > 0) {
+                acceptEncoding.append(", ");
+            }
+            acceptEncoding.append(encoding);
+        }
+        this.acceptEncoding = acceptEncoding.toString();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = MetricsEventListener.endpointOf(request.method(), request.url());
+        request = this.compressRequest(request, endpoint);
+
+        boolean negotiate = !this.decoders.isEmpty()
+                && request.header("Accept-Encoding") == null
+                && request.header("Range") == null;
+        if (negotiate) {
+            request = request.newBuilder()
+                    .header("Accept-Encoding", this.acceptEncoding)
+                    .build();
+        }
+
+        Response response = chain.proceed(request);
+        if (!negotiate || !hasBody(response)) {
+            // HEAD, 204 e 304 não têm corpo: os headers (ex: Content-Length do HEAD) são mantidos
+            return response;
+        }
+        return this.decodeResponse(response, endpoint);
+    }
+
+    private Request compressRequest(Request request, String endpoint) throws IOException {
+        RequestBody body = request.body();
+        // Blocos de upload (Content-Range) descrevem bytes do arquivo original e não devem ser
+        // alterados
+        if (this.requestThreshold < 0 || body == null || request.header("Content-Encoding") != null
+                || request.header("Content-Range") != null || !isText(body.contentType())) {
+            return request;
+        }
+
+        long size = body.contentLength();
+        if (size >= 0 && size < this.requestThreshold) {
+            this.statsOf(endpoint).recordRequest(size, size, 0, false);
+            return request;
+        }
+        return request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), new GzipBody(body, this.statsOf(endpoint)))
+                .build();
+    }
+
+    private Response decodeResponse(Response response, String endpoint) throws IOException {
+        String encoding = response.header("Content-Encoding");
+        ResponseBody body = response.body();
+        if (encoding == null || body == null) {
+            return response;
+        }
+        IContentDecoder decoder = this.decoders.get(encoding.trim().toLowerCase());
+        if (decoder == null) {
+            return response;
+        }
+
+        MeasuredSource wire = new MeasuredSource(body.source(), null);
+        MeasuredSource decoded = new MeasuredSource(decoder.decode(wire), wire);
+        decoded.stats = this.statsOf(endpoint);
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(body.contentType(), -1, Okio.buffer(decoded)))
+                .build();
+    }
+
+    private CompressionStats statsOf(String endpoint) {
+        CompressionStats stats = this.stats.get(endpoint);
+        if (stats == null) {
+            CompressionStats created = new CompressionStats(endpoint);
+            stats = this.stats.putIfAbsent(endpoint, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Mesma regra do OkHttp (HttpHeaders.hasBody, interno): HEAD, 1xx, 204 e 304 não têm corpo,
+     * a menos que o servidor informe um Content-Length ou Transfer-Encoding. Um Content-Length 0
+     * também não tem o que decodificar
+     */
+    private static boolean hasBody(Response response) {
+        if ("HEAD".equals(response.request().method())) {
+            return false;
+        }
+        String contentLength = response.header("Content-Length");
+        if (contentLength != null && "0".equals(contentLength.trim())) {
+            return false;
+        }
+        int code = response.code();
+        if ((code < 100 || code >= 200) && code != 204 && code != 304) {
+            return true;
+        }
+        return (contentLength != null && !"-1".equals(contentLength.trim()))
+                || "chunked".equalsIgnoreCase(response.header("Transfer-Encoding"));
+    }
+
+    private static boolean isText(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String subtype = contentType.subtype().toLowerCase();
+        return "text".equals(contentType.type())
+                || subtype.equals("json") || subtype.endsWith("+json")
+                || subtype.equals("xml") || subtype.endsWith("+xml")
+                || subtype.equals("x-www-form-urlencoded");
+    }
+
+    /**
+     * Get Properties
+     */
+    public long getRequestThreshold() {
+        return this.requestThreshold;
+    }
+
+    public String getAcceptEncoding() {
+        return this.acceptEncoding;
+    }
+
+    public CompressionStats getStats(String endpoint) {
+        return this.stats.get(endpoint);
+    }
+
+    public List<CompressionStats> getAllStats() {
+        return new ArrayList<>(this.stats.values());
+    }
+
+    /**
+     * Comprime o corpo original enquanto ele é escrito, sem guardá-lo em memória. O tamanho
+     * comprimido só é conhecido no fim, por isso o envio é chunked. Cada writeTo() serializa o
+     * corpo original novamente, permitindo que o OkHttp repita a requisição
+     */
+    private static class GzipBody extends RequestBody {
+
+        private final RequestBody body;
+        private final CompressionStats stats;
+
+        private GzipBody(RequestBody body, CompressionStats stats) {
+            this.body = body;
+            this.stats = stats;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return this.body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            MeasuredSink wire = new MeasuredSink(sink);
+            MeasuredSink plain = new MeasuredSink(new GzipSink(wire));
+            BufferedSink gzip = Okio.buffer(plain);
+            this.body.writeTo(gzip);
+            gzip.close();
+            // O tempo de escrita na rede (medido no sink de destino) é descontado, restando o
+            // custo da compressão
+            this.stats.recordRequest(plain.bytes, wire.bytes, Math.max(0, plain.nanos - wire.nanos), true);
+        }
+    }
+
+    /**
+     * Conta os bytes e o tempo gasto em write() e close()
+     */
+    private static class MeasuredSink extends ForwardingSink {
+
+        private long bytes = 0;
+        private long nanos = 0;
+
+        private MeasuredSink(Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            super.write(source, byteCount);
+            this.nanos += System.nanoTime() - start;
+            this.bytes += byteCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            super.close();
+            this.nanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Conta os bytes e o tempo gasto em read(). No source decodificado o tempo de espera pela
+     * rede (medido no source de origem) é descontado, restando apenas o custo da descompressão
+     */
+    private static class MeasuredSource extends ForwardingSource {
+
+        private final MeasuredSource wire;
+        private CompressionStats stats;
+        private long bytes = 0;
+        private long nanos = 0;
+        private boolean recorded = false;
+
+        private MeasuredSource(Source delegate, MeasuredSource wire) {
+            super(delegate);
+            this.wire = wire;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            long read = super.read(sink, byteCount);
+            this.nanos += System.nanoTime() - start;
+            if (read == -1) {
+                this.record();
+            } else {
+                this.bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.record();
+            super.close();
+        }
+
+        private void record() {
+            if (this.stats == null || this.recorded) {
+                return;
+            }
+            this.recorded = true;
+            this.stats.recordResponse(this.bytes, this.wire.bytes, Math.max(0, this.nanos - this.wire.nanos));
+        }
+    }
+
+    public static class Builder {
+
+        private long requestThreshold = -1;
+        private final Map<String, IContentDecoder> decoders = new LinkedHashMap<>();
+
+        /**
+         * Comprime com gzip as requisições a partir deste tamanho em bytes. Valores negativos
+         * desabilitam a compressão das requisições (padrão)
+         */
+        public Builder addRequestThreshold(long bytes) {
+            this.requestThreshold = bytes;
+            return this;
+        }
+
+        /**
+         * Registra um decodificador de resposta. A ordem de registro define a preferência
+         * enviada em Accept-Encoding
+         */
+        public Builder addDecoder(IContentDecoder decoder) {
+            this.decoders.put(decoder.getEncoding().toLowerCase(), decoder);
+            return this;
+        }
+
+        /**
+         * Registra gzip e deflate, que não dependem de bibliotecas externas
+         */
+        public Builder addDefaultDecoders() {
+            return this.addDecoder(new GzipDecoder())
+                    .addDecoder(new DeflateDecoder());
+        }
+
+        public Compression build() {
+            return new Compression(this);
+        }
+    }
+}
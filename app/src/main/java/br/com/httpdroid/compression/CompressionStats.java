@@ -0,0 +1,122 @@
+package br.com.httpdroid.compression;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Medições de compressão de um endpoint (método + host + caminho): quantos bytes foram
+ * economizados e quanto tempo de CPU isso custou, em cada direção
+ */
+public class CompressionStats {
+
+    private final String endpoint;
+
+    private final AtomicLong compressedRequestCount = new AtomicLong();
+    private final AtomicLong uncompressedRequestCount = new AtomicLong();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong requestWireBytes = new AtomicLong();
+    private final AtomicLong compressNanos = new AtomicLong();
+
+    private final AtomicLong decodedResponseCount = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseWireBytes = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+
+    public CompressionStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void recordRequest(long bytes, long wireBytes, long nanos, boolean compressed) {
+        if (compressed) {
+            this.compressedRequestCount.incrementAndGet();
+        } else {
+            this.uncompressedRequestCount.incrementAndGet();
+        }
+        this.requestBytes.addAndGet(bytes);
+        this.requestWireBytes.addAndGet(wireBytes);
+        this.compressNanos.addAndGet(nanos);
+    }
+
+    void recordResponse(long bytes, long wireBytes, long nanos) {
+        this.decodedResponseCount.incrementAndGet();
+        this.responseBytes.addAndGet(bytes);
+        this.responseWireBytes.addAndGet(wireBytes);
+        this.decodeNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Get Properties
+     */
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public long getCompressedRequestCount() {
+        return this.compressedRequestCount.get();
+    }
+
+    /**
+     * Requisições abaixo do limite, enviadas sem compressão
+     */
+    public long getUncompressedRequestCount() {
+        return this.uncompressedRequestCount.get();
+    }
+
+    public long getRequestBytes() {
+        return this.requestBytes.get();
+    }
+
+    public long getRequestWireBytes() {
+        return this.requestWireBytes.get();
+    }
+
+    /**
+     * Bytes enviados / bytes originais. Quanto menor, maior a economia
+     */
+    public double getRequestRatio() {
+        long bytes = this.requestBytes.get();
+        return bytes == 0 ? 1 : (double) this.requestWireBytes.get() / bytes;
+    }
+
+    public long getCompressNanos() {
+        return this.compressNanos.get();
+    }
+
+    public long getDecodedResponseCount() {
+        return this.decodedResponseCount.get();
+    }
+
+    public long getResponseBytes() {
+        return this.responseBytes.get();
+    }
+
+    public long getResponseWireBytes() {
+        return this.responseWireBytes.get();
+    }
+
+    /**
+     * Bytes recebidos / bytes decodificados
+     */
+    public double getResponseRatio() {
+        long bytes = this.responseBytes.get();
+        return bytes == 0 ? 1 : (double) this.responseWireBytes.get() / bytes;
+    }
+
+    /**
+     * Tempo gasto apenas na descompressão, sem a espera pela rede
+     */
+    public long getDecodeNanos() {
+        return this.decodeNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%s: req %d/%d bytes (%.2f, %d us), resp %d/%d bytes (%.2f, %d us)",
+                this.endpoint, this.getRequestWireBytes(), this.getRequestBytes(), this.getRequestRatio(),
+                this.getCompressNanos() / 1000, this.getResponseWireBytes(), this.getResponseBytes(),
+                this.getResponseRatio(), this.getDecodeNanos() / 1000);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.httpdroid.compression;
+
+import java.util.zip.Inflater;
+
+import br.com.httpdroid.interfaces.IContentDecoder;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Content-Encoding: deflate, no formato zlib (RFC 1950) definido pelo HTTP
+ */
+public class DeflateDecoder implements IContentDecoder {
+
+    @Override
+    public String getEncoding() {
+        return "deflate";
+    }
+
+    @Override
+    public Source decode(Source source) {
+        return new InflaterSource(Okio.buffer(source), new Inflater());
+    }
+}
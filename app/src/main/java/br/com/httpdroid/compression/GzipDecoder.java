@@ -0,0 +1,21 @@
+package br.com.httpdroid.compression;
+
+import br.com.httpdroid.interfaces.IContentDecoder;
+import okio.GzipSource;
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ */
+public class GzipDecoder implements IContentDecoder {
+
+    @Override
+    public String getEncoding() {
+        return "gzip";
+    }
+
+    @Override
+    public Source decode(Source source) {
+        return new GzipSource(source);
+    }
+}
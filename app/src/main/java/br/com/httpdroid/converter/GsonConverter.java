@@ -0,0 +1,106 @@
+package br.com.httpdroid.converter;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+import br.com.httpdroid.interfaces.IConverter;
+import br.com.httpdroid.interfaces.IElementReader;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Conversor padrão, baseado no Gson. Os TypeAdapters são obtidos uma única vez por tipo pelo
+ * próprio Gson, então registrar adapters escritos à mão ou gerados em tempo de compilação
+ * (GsonBuilder.registerTypeAdapterFactory()) elimina a reflexão da desserialização. Ex:
+ * new GsonConverter(new GsonBuilder().registerTypeAdapterFactory(new MeusAdapters()).create())
+ */
+public class GsonConverter implements IConverter {
+
+    private final Gson gson;
+
+    public GsonConverter(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type type) throws IOException {
+        JsonReader jsonReader = this.gson.newJsonReader(reader);
+        try {
+            return this.gson.fromJson(jsonReader, type);
+        } catch (JsonParseException e) {
+            rethrowIOException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void toJson(Object value, Type type, Writer writer) throws IOException {
+        JsonWriter jsonWriter = this.gson.newJsonWriter(writer);
+        try {
+            this.gson.toJson(value, type, jsonWriter);
+            jsonWriter.flush();
+        } catch (JsonParseException e) {
+            rethrowIOException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> IElementReader<T> newArrayReader(Reader reader, Type elementType) throws IOException {
+        final TypeAdapter<T> adapter = this.adapterFor(elementType);
+        final JsonReader jsonReader = this.gson.newJsonReader(reader);
+        final boolean empty = jsonReader.peek() == JsonToken.NULL;
+        if (empty) {
+            jsonReader.nextNull();
+        } else {
+            jsonReader.beginArray();
+        }
+        return new IElementReader<T>() {
+            @Override
+            public boolean hasNext() throws IOException {
+                return !empty && jsonReader.hasNext();
+            }
+
+            @Override
+            public T next() throws IOException {
+                return adapter.read(jsonReader);
+            }
+
+            @Override
+            public void close() throws IOException {
+                jsonReader.close();
+            }
+        };
+    }
+
+    /**
+     * O tipo T é escolhido por quem informou elementType, assim como em Gson.fromJson(Reader, Type)
+     */
+    @SuppressWarnings("unchecked")
+    private <T> TypeAdapter<T> adapterFor(Type type) {
+        return (TypeAdapter<T>) this.gson.getAdapter(TypeToken.get(type));
+    }
+
+    /**
+     * Falhas de leitura do socket (ex: read timeout) chegam embrulhadas pelo Gson
+     */
+    private static void rethrowIOException(JsonParseException e) throws IOException {
+        if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    public Gson getGson() {
+        return this.gson;
+    }
+}
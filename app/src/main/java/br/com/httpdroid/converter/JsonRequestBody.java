@@ -0,0 +1,87 @@
+package br.com.httpdroid.converter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+import br.com.httpdroid.interfaces.IConverter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Corpo JSON serializado diretamente no socket no momento do envio, sem criar a String e o
+ * array de bytes intermediários. Sem Content-Length a requisição é enviada com
+ * Transfer-Encoding: chunked; quando o tamanho é necessário (servidores que não aceitam
+ * chunked) o JSON é serializado uma única vez em um Buffer do Okio, reaproveitado no envio.
+ * O objeto não deve ser alterado até o fim da requisição.
+ */
+public class JsonRequestBody extends RequestBody {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final IConverter converter;
+    private final Object value;
+    private final Type type;
+    private final MediaType contentType;
+    private final boolean contentLengthEnabled;
+
+    private Buffer serialized;
+
+    public JsonRequestBody(IConverter converter, Object value, Type type, MediaType contentType,
+                           boolean contentLengthEnabled) {
+        this.converter = converter;
+        this.value = value;
+        this.type = type;
+        this.contentType = contentType;
+        this.contentLengthEnabled = contentLengthEnabled;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        if (!this.contentLengthEnabled) {
+            return -1;
+        }
+        return this.serialize().size();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        if (this.contentLengthEnabled) {
+            // clone() compartilha os segmentos do Buffer, sem copiar os bytes
+            sink.writeAll(this.serialize().clone());
+            return;
+        }
+        this.write(sink);
+    }
+
+    private synchronized Buffer serialize() throws IOException {
+        if (this.serialized == null) {
+            Buffer buffer = new Buffer();
+            this.write(buffer);
+            this.serialized = buffer;
+        }
+        return this.serialized;
+    }
+
+    private void write(BufferedSink sink) throws IOException {
+        Writer writer = new OutputStreamWriter(sink.outputStream(), this.charset());
+        this.converter.toJson(this.value, this.type, writer);
+        writer.flush();
+    }
+
+    private Charset charset() {
+        Charset charset = this.contentType != null ? this.contentType.charset() : null;
+        return charset != null ? charset : UTF_8;
+    }
+}
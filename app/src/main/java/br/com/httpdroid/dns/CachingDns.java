@@ -0,0 +1,498 @@
+package br.com.httpdroid.dns;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.httpdroid.async.AsyncExecutors;
+import okhttp3.Dns;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Dns com cache em memória, para que as novas conexões não esperem o resolvedor do sistema:
+ *
+ * - Até ttl a resposta vem do cache.
+ * - Entre ttl e ttl + staleTtl a resposta antiga é entregue imediatamente e uma nova consulta
+ *   é feita em segundo plano (stale-while-revalidate). Se a consulta falhar, a resposta antiga
+ *   continua valendo até o fim do staleTtl.
+ * - Depois disso a consulta volta a ser feita no caminho da requisição.
+ * - Os endereços IPv6 e IPv4 são intercalados (RFC 8305), começando pela família preferida
+ *   pelo sistema. Assim, se uma família estiver inacessível, o OkHttp passa para a outra já na
+ *   segunda tentativa de conexão, em vez de percorrer todos os endereços da família quebrada.
+ * - Consultas simultâneas ao mesmo host compartilham uma única consulta ao resolvedor.
+ * - Hosts estáticos (addStaticHost) nunca consultam o resolvedor, úteis em testes.
+ *
+ * O Java não expõe o TTL dos registros DNS, por isso o ttl é configurado aqui.
+ */
+public class CachingDns implements Dns {
+
+    private final Dns delegate;
+    private final long ttlNanos;
+    private final long staleTtlNanos;
+    private final boolean interleaveEnabled;
+    private final Executor executor;
+    private final Map<String, List<InetAddress>> staticHosts;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Consultas em andamento por host, compartilhadas pelas requisições e pela atualização em
+     * segundo plano
+     */
+    private final ConcurrentHashMap<String, FutureTask<List<InetAddress>>> lookups = new ConcurrentHashMap<>();
+    private final AtomicLong lastPruneNanos = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong staleHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    private CachingDns(Builder builder) {
+        this.delegate = builder.delegate;
+        this.ttlNanos = builder.ttlNanos;
+        this.staleTtlNanos = builder.staleTtlNanos;
+        this.interleaveEnabled = builder.interleaveEnabled;
+        this.executor = builder.executor != null ? builder.executor : AsyncExecutors.getTransfers();
+        this.staticHosts = new HashMap<>(builder.staticHosts);
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        String host = hostname.toLowerCase(Locale.ROOT);
+        List<InetAddress> seeded = this.staticHosts.get(host);
+        if (seeded != null) {
+            this.hitCount.incrementAndGet();
+            return seeded;
+        }
+
+        Entry entry = this.entries.get(host);
+        long now = System.nanoTime();
+        if (entry != null) {
+            long age = now - entry.resolvedAtNanos;
+            if (age < this.ttlNanos) {
+                this.hitCount.incrementAndGet();
+                return entry.addresses;
+            }
+            if (age < this.ttlNanos + this.staleTtlNanos) {
+                this.staleHitCount.incrementAndGet();
+                this.refreshAsync(host);
+                return entry.addresses;
+            }
+        }
+        this.missCount.incrementAndGet();
+        this.pruneExpired(now);
+
+        FutureTask<List<InetAddress>> lookup = this.newLookup(host);
+        FutureTask<List<InetAddress>> running = this.lookups.putIfAbsent(host, lookup);
+        if (running == null) {
+            lookup.run();
+            running = lookup;
+        } else {
+            this.coalescedCount.incrementAndGet();
+        }
+        return await(host, running);
+    }
+
+    /**
+     * Consulta o resolvedor e guarda o resultado. Ao terminar, a consulta deixa de ser
+     * compartilhada e as próximas requisições passam a usar o cache
+     */
+    private FutureTask<List<InetAddress>> newLookup(final String host) {
+        return new FutureTask<List<InetAddress>>(new Callable<List<InetAddress>>() {
+            @Override
+            public List<InetAddress> call() throws UnknownHostException {
+                List<InetAddress> addresses = delegate.lookup(host);
+                if (interleaveEnabled) {
+                    addresses = interleave(addresses);
+                }
+                addresses = Collections.unmodifiableList(addresses);
+                entries.put(host, new Entry(addresses, System.nanoTime()));
+                return addresses;
+            }
+        }) {
+            @Override
+            protected void done() {
+                lookups.remove(host, this);
+            }
+        };
+    }
+
+    private static List<InetAddress> await(String host, FutureTask<List<InetAddress>> lookup)
+            throws UnknownHostException {
+        try {
+            return lookup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnknownHostException("Consulta de " + host + " interrompida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UnknownHostException) {
+                throw (UnknownHostException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            UnknownHostException error = new UnknownHostException(host);
+            error.initCause(cause);
+            throw error;
+        }
+    }
+
+    /**
+     * Atualiza o host em segundo plano, a menos que já exista uma consulta em andamento
+     */
+    private void refreshAsync(String host) {
+        final FutureTask<List<InetAddress>> lookup = this.newLookup(host);
+        if (this.lookups.putIfAbsent(host, lookup) != null) {
+            return;
+        }
+        try {
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    lookup.run();
+                    try {
+                        lookup.get();
+                        refreshCount.incrementAndGet();
+                    } catch (InterruptedException | ExecutionException e) {
+                        refreshFailureCount.incrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.lookups.remove(host, lookup);
+        }
+    }
+
+    /**
+     * Remove as entradas que já passaram do staleTtl, no máximo uma vez por ttl + staleTtl,
+     * para que hosts acessados uma única vez não fiquem para sempre no mapa
+     */
+    private void pruneExpired(long now) {
+        long lifetime = this.ttlNanos + this.staleTtlNanos;
+        long lastPrune = this.lastPruneNanos.get();
+        if (now - lastPrune < lifetime || !this.lastPruneNanos.compareAndSet(lastPrune, now)) {
+            return;
+        }
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().resolvedAtNanos >= lifetime) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Intercala os endereços das duas famílias, mantendo a ordem dentro de cada família e
+     * começando pela família do primeiro endereço
+     */
+    static List<InetAddress> interleave(List<InetAddress> addresses) {
+        if (addresses.size() < 2) {
+            return addresses;
+        }
+        List<InetAddress> ipv6 = new ArrayList<>();
+        List<InetAddress> ipv4 = new ArrayList<>();
+        for (InetAddress address : addresses) {
+            if (address instanceof Inet6Address) {
+                ipv6.add(address);
+            } else {
+                ipv4.add(address);
+            }
+        }
+        if (ipv6.isEmpty() || ipv4.isEmpty()) {
+            return addresses;
+        }
+        List<InetAddress> first = addresses.get(0) instanceof Inet6Address ? ipv6 : ipv4;
+        List<InetAddress> second = first == ipv6 ? ipv4 : ipv6;
+        List<InetAddress> result = new ArrayList<>(addresses.size());
+        for (int i = 0; i < Math.max(first.size(), second.size()); i++) {
+            if (i < first.size()) {
+                result.add(first.get(i));
+            }
+            if (i < second.size()) {
+                result.add(second.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove o host do cache, forçando uma nova consulta (ex: após trocar de rede)
+     */
+    public void invalidate(String hostname) {
+        this.entries.remove(hostname.toLowerCase(Locale.ROOT));
+    }
+
+    public void evictAll() {
+        this.entries.clear();
+    }
+
+    /**
+     * Get Properties
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Respostas expiradas entregues enquanto a consulta era refeita em segundo plano
+     */
+    public long getStaleHitCount() {
+        return this.staleHitCount.get();
+    }
+
+    /**
+     * Consultas feitas no caminho da requisição
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Consultas que aguardaram outra consulta em andamento para o mesmo host
+     */
+    public long getCoalescedCount() {
+        return this.coalescedCount.get();
+    }
+
+    public long getRefreshCount() {
+        return this.refreshCount.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return this.refreshFailureCount.get();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Converte um literal IPv4 ou IPv6 (com ou sem colchetes) nos bytes do endereço, sem
+     * consultar o DNS. Retorna null quando o texto não é um IP
+     */
+    static byte[] parseIpLiteral(String ip) {
+        if (ip.startsWith("[") && ip.endsWith("]")) {
+            return parseIpv6(ip, 1, ip.length() - 1);
+        }
+        if (ip.indexOf(':') >= 0) {
+            return parseIpv6(ip, 0, ip.length());
+        }
+        byte[] address = new byte[4];
+        return parseIpv4(ip, 0, ip.length(), address, 0) ? address : null;
+    }
+
+    private static byte[] parseIpv6(String ip, int start, int end) {
+        byte[] address = new byte[16];
+        int b = 0;
+        int compress = -1;
+        int groupStart = -1;
+        for (int i = start; i < end; ) {
+            if (b == address.length) {
+                return null;
+            }
+            if (ip.startsWith("::", i) && i + 2 <= end) {
+                if (compress != -1) {
+                    return null;
+                }
+                // "::" vale ao menos um grupo de zeros
+                i += 2;
+                b += 2;
+                compress = b;
+                if (i == end) {
+                    break;
+                }
+            } else if (b != 0) {
+                if (ip.charAt(i) == ':') {
+                    i++;
+                } else if (ip.charAt(i) == '.') {
+                    // IPv4 no final (ex: ::ffff:10.0.2.2), relido a partir do último grupo
+                    if (!parseIpv4(ip, groupStart, end, address, b - 2)) {
+                        return null;
+                    }
+                    b += 2;
+                    break;
+                } else {
+                    return null;
+                }
+            }
+            int value = 0;
+            groupStart = i;
+            while (i < end && Character.digit(ip.charAt(i), 16) != -1) {
+                value = (value << 4) + Character.digit(ip.charAt(i), 16);
+                i++;
+            }
+            int groupLength = i - groupStart;
+            if (groupLength == 0 || groupLength > 4) {
+                return null;
+            }
+            address[b++] = (byte) (value >>> 8);
+            address[b++] = (byte) value;
+        }
+        if (b != address.length) {
+            if (compress == -1) {
+                return null;
+            }
+            System.arraycopy(address, compress, address, address.length - (b - compress), b - compress);
+            Arrays.fill(address, compress, compress + (address.length - b), (byte) 0);
+        }
+        return address;
+    }
+
+    /**
+     * Quatro números de 0 a 255 separados por ponto, sem zeros à esquerda
+     */
+    private static boolean parseIpv4(String ip, int start, int end, byte[] address, int offset) {
+        int b = offset;
+        int i = start;
+        while (i < end) {
+            if (b == address.length) {
+                return false;
+            }
+            if (b != offset) {
+                if (ip.charAt(i) != '.') {
+                    return false;
+                }
+                i++;
+            }
+            int value = 0;
+            int groupStart = i;
+            while (i < end && ip.charAt(i) >= '0' && ip.charAt(i) <= '9') {
+                if (value == 0 && i != groupStart) {
+                    return false;
+                }
+                value = value * 10 + ip.charAt(i) - '0';
+                if (value > 255) {
+                    return false;
+                }
+                i++;
+            }
+            if (i == groupStart) {
+                return false;
+            }
+            address[b++] = (byte) value;
+        }
+        return b == offset + 4;
+    }
+
+    private static final class Entry {
+        private final List<InetAddress> addresses;
+        private final long resolvedAtNanos;
+
+        private Entry(List<InetAddress> addresses, long resolvedAtNanos) {
+            this.addresses = addresses;
+            this.resolvedAtNanos = resolvedAtNanos;
+        }
+    }
+
+    public static class Builder {
+
+        private Dns delegate = Dns.SYSTEM;
+        private long ttlNanos = TimeUnit.MINUTES.toNanos(1);
+        private long staleTtlNanos = TimeUnit.MINUTES.toNanos(10);
+        private boolean interleaveEnabled = true;
+        private Executor executor;
+        private final Map<String, List<InetAddress>> staticHosts = new HashMap<>();
+
+        /**
+         * Resolvedor consultado quando o host não está em cache (padrão Dns.SYSTEM)
+         */
+        public Builder addDelegate(Dns delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        public Builder addTtl(long ttl, TimeUnit timeUnit) {
+            this.ttlNanos = timeUnit.toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Por quanto tempo após o ttl a resposta antiga ainda pode ser entregue enquanto a
+         * consulta é refeita em segundo plano. 0 desabilita
+         */
+        public Builder addStaleTtl(long staleTtl, TimeUnit timeUnit) {
+            this.staleTtlNanos = timeUnit.toNanos(staleTtl);
+            return this;
+        }
+
+        /**
+         * Intercala IPv6 e IPv4 nos endereços retornados (padrão true)
+         */
+        public Builder isInterleaveEnabled(boolean enabled) {
+            this.interleaveEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Executor das consultas em segundo plano (padrão: executor de transferências)
+         */
+        public Builder addExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Endereços fixos do host, que nunca expiram. Ex: addStaticHost("api.exemplo.com", "10.0.2.2")
+         * Aceita apenas literais IPv4 ou IPv6; nomes de host lançam IllegalArgumentException
+         */
+        public Builder addStaticHost(String hostname, String... ips) {
+            List<InetAddress> addresses = new ArrayList<>();
+            for (String ip : ips) {
+                byte[] address = parseIpLiteral(ip);
+                if (address == null) {
+                    throw new IllegalArgumentException(ip + " não é um endereço IP");
+                }
+                try {
+                    addresses.add(InetAddress.getByAddress(hostname, address));
+                } catch (UnknownHostException e) {
+                    // Só ocorre com tamanhos diferentes de 4 e 16 bytes
+                    throw new IllegalArgumentException(ip + " não é um endereço IP", e);
+                }
+            }
+            return this.addStaticHost(hostname, addresses);
+        }
+
+        public Builder addStaticHost(String hostname, List<InetAddress> addresses) {
+            this.staticHosts.put(hostname.toLowerCase(Locale.ROOT),
+                    Collections.unmodifiableList(new ArrayList<>(addresses)));
+            return this;
+        }
+
+        /**
+         * Vários hosts estáticos de uma vez, no formato host -> IPs
+         */
+        public Builder addStaticHosts(Map<String, String[]> hosts) {
+            for (Map.Entry<String, String[]> host : hosts.entrySet()) {
+                this.addStaticHost(host.getKey(), host.getValue());
+            }
+            return this;
+        }
+
+        public CachingDns build() {
+            return new CachingDns(this);
+        }
+    }
+}
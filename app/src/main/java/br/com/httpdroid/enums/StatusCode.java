@@ -8,14 +8,26 @@ public enum StatusCode {
     CRIADO(201),
     ACEITO(202),
     OK(200),
+    CONTEUDO_PARCIAL(206),
+
+    NAO_MODIFICADO(304),
 
     MAU_REQUISICAO(400),
     NAO_AUTENTICADO(401),
     NAO_AUTORIZADO(403),
     NAO_ENCONTRADO(404),
     METODO_NAO_PERMITIDO(405),
+    TEMPO_ESGOTADO(408),
+    CONFLITO(409),
+    PRECONDICAO_FALHOU(412),
     MIDIA_NAO_SUPORTADA(415),
-    ERRO_INTERNO_NO_SERVIDOR(500);
+    MUITAS_REQUISICOES(429),
+    ERRO_INTERNO_NO_SERVIDOR(500),
+    GATEWAY_INVALIDO(502),
+    SERVICO_INDISPONIVEL(503),
+    TEMPO_ESGOTADO_NO_GATEWAY(504);
+
+    private static final StatusCode[] VALUES = values();
 
     private int code;
 
@@ -26,4 +38,20 @@ public enum StatusCode {
     public int getCode(){
         return this.code;
     }
+
+    public boolean is(int code) {
+        return this.code == code;
+    }
+
+    /**
+     * Retorna o status correspondente ao código, ou null quando o código não está mapeado
+     */
+    public static StatusCode fromCode(int code) {
+        for (StatusCode status : VALUES) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        return null;
+    }
 }
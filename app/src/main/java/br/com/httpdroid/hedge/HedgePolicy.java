@@ -0,0 +1,424 @@
+package br.com.httpdroid.hedge;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.httpdroid.async.AsyncExecutors;
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.metrics.LatencyHistogram;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Requisições hedge para GETs: se a primeira tentativa não responder dentro do percentil
+ * configurado da latência do endpoint (p95 por padrão), uma segunda tentativa idêntica é
+ * disparada e vale a primeira que responder. A perdedora é cancelada com Call.cancel().
+ *
+ * - A latência é medida por endpoint (método + host + caminho) e só há hedge depois de
+ *   minSamples amostras do endpoint. A amostra é sempre o tempo da tentativa original, inclusive
+ *   quando ela falha. Se o hedge vence, a original é cancelada e o tempo decorrido até ali (que
+ *   já passou do atraso) é registrado como limite inferior, sem encolher o percentil.
+ * - O orçamento limita os hedges a uma porcentagem das requisições (5% por padrão), para que
+ *   um servidor lento não receba o dobro da carga.
+ * - Em HTTP/1.1 a segunda tentativa utiliza outra conexão do pool, já que a primeira está
+ *   ocupada. Em HTTP/2 ambas compartilham a mesma conexão multiplexada.
+ * - Em execute() a tentativa original roda na thread de quem chamou e apenas o hedge é
+ *   enfileirado no Dispatcher do OkHttp. O hedge respeita os limites do Dispatcher, que são
+ *   compartilhados por todos os serviços do pool (HttpClientPool.setMaxRequestsPerHost()): com
+ *   o host saturado ele aguarda na fila e tende a perder a disputa, o que apenas consome
+ *   orçamento.
+ */
+public class HedgePolicy {
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int minSamples;
+    private final double budgetRatio;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong firedCount = new AtomicLong();
+    private final AtomicLong wonCount = new AtomicLong();
+    private final AtomicLong budgetExhaustedCount = new AtomicLong();
+    private double tokens = 0;
+
+    private HedgePolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.minSamples = builder.minSamples;
+        this.budgetRatio = builder.budgetRatio;
+        this.scheduler = builder.scheduler != null ? builder.scheduler : AsyncExecutors.getScheduler();
+    }
+
+    /**
+     * Apenas GETs e HEADs sem corpo são repetidos
+     */
+    public boolean isHedgeable(Request request) {
+        return ("GET".equals(request.method()) || "HEAD".equals(request.method())) && request.body() == null;
+    }
+
+    /**
+     * Executa a chamada bloqueando a thread atual, com hedge quando elegível
+     */
+    public Response execute(Call call) throws IOException {
+        if (!this.isHedgeable(call.request())) {
+            return call.execute();
+        }
+        final HttpFuture<Response> future = new HttpFuture<>(call);
+        Race race = this.start(call, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.fail(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (!future.complete(response)) {
+                    response.close();
+                }
+            }
+        });
+
+        // A tentativa original bloqueia esta thread. Se o hedge vencer, ela é cancelada e
+        // o resultado do hedge já está no futuro
+        Response response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            race.onFailure(call, e);
+            return this.await(future, race);
+        }
+        race.onResponse(call, response);
+        return this.await(future, race);
+    }
+
+    private Response await(HttpFuture<Response> future, Race race) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            race.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Enfileira a chamada, disparando o hedge após o atraso do endpoint. Cancelar a chamada
+     * original cancela também o hedge
+     */
+    public void enqueue(Call call, Callback callback) {
+        if (!this.isHedgeable(call.request())) {
+            call.enqueue(callback);
+            return;
+        }
+        call.enqueue(this.start(call, callback));
+    }
+
+    /**
+     * Cria a disputa e agenda o hedge. O agendamento é cancelado quando a disputa termina antes
+     */
+    private Race start(Call call, Callback callback) {
+        Request request = call.request();
+        this.requestCount.incrementAndGet();
+        synchronized (this) {
+            this.tokens = Math.min(10, this.tokens + this.budgetRatio);
+        }
+
+        String endpoint = MetricsEventListener.endpointOf(request.method(), request.url());
+        LatencyHistogram latency = this.latencyOf(endpoint);
+        final Race race = new Race(call, callback, latency);
+        if (latency.getCount() >= this.minSamples) {
+            race.setTimer(this.scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    race.fireHedge();
+                }
+            }, this.delayNanos(latency), TimeUnit.NANOSECONDS));
+        }
+        return race;
+    }
+
+    private long delayNanos(LatencyHistogram latency) {
+        long delay = TimeUnit.MICROSECONDS.toNanos(latency.getPercentile(this.percentile));
+        return Math.min(this.maxDelayNanos, Math.max(this.minDelayNanos, delay));
+    }
+
+    private synchronized boolean tryAcquireBudget() {
+        if (this.tokens < 1) {
+            this.budgetExhaustedCount.incrementAndGet();
+            return false;
+        }
+        this.tokens -= 1;
+        return true;
+    }
+
+    private LatencyHistogram latencyOf(String endpoint) {
+        LatencyHistogram latency = this.latencies.get(endpoint);
+        if (latency == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            latency = this.latencies.putIfAbsent(endpoint, created);
+            if (latency == null) {
+                latency = created;
+            }
+        }
+        return latency;
+    }
+
+    /**
+     * Get Properties
+     */
+    public long getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    /**
+     * Hedges disparados
+     */
+    public long getFiredCount() {
+        return this.firedCount.get();
+    }
+
+    /**
+     * Hedges que responderam antes da tentativa original
+     */
+    public long getWonCount() {
+        return this.wonCount.get();
+    }
+
+    /**
+     * Hedges não disparados por falta de orçamento
+     */
+    public long getBudgetExhaustedCount() {
+        return this.budgetExhaustedCount.get();
+    }
+
+    /**
+     * Latência da tentativa original do endpoint. null enquanto não há requisições
+     */
+    public LatencyHistogram getLatency(String endpoint) {
+        return this.latencies.get(endpoint);
+    }
+
+    /**
+     * Atraso atual do hedge para o endpoint, em milissegundos. -1 enquanto não há amostras
+     * suficientes
+     */
+    public long getDelayMillis(String endpoint) {
+        LatencyHistogram latency = this.latencies.get(endpoint);
+        if (latency == null || latency.getCount() < this.minSamples) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(this.delayNanos(latency));
+    }
+
+    /**
+     * Disputa entre a chamada original e o hedge. A primeira resposta é entregue ao callback;
+     * uma falha só é entregue quando não há outra tentativa em andamento
+     */
+    private final class Race implements Callback {
+
+        private final Call primary;
+        private final Callback callback;
+        private final LatencyHistogram latency;
+        private final long startNanos = System.nanoTime();
+
+        private Call hedge;
+        private ScheduledFuture<?> timer;
+        private int pending = 1;
+        private boolean done = false;
+        private boolean recorded = false;
+
+        private Race(Call primary, Callback callback, LatencyHistogram latency) {
+            this.primary = primary;
+            this.callback = callback;
+            this.latency = latency;
+        }
+
+        private void setTimer(ScheduledFuture<?> timer) {
+            synchronized (this) {
+                if (!this.done) {
+                    this.timer = timer;
+                    return;
+                }
+            }
+            timer.cancel(false);
+        }
+
+        /**
+         * Cancela as duas tentativas (thread interrompida durante execute())
+         */
+        private void cancel() {
+            Call hedge;
+            synchronized (this) {
+                hedge = this.hedge;
+            }
+            this.primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+
+        private void cancelTimer() {
+            ScheduledFuture<?> timer;
+            synchronized (this) {
+                timer = this.timer;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+
+        /**
+         * Registra o tempo da tentativa original uma única vez
+         */
+        private void recordPrimary() {
+            synchronized (this) {
+                if (this.recorded) {
+                    return;
+                }
+                this.recorded = true;
+            }
+            this.latency.recordNanos(System.nanoTime() - this.startNanos);
+        }
+
+        private void fireHedge() {
+            Call hedge;
+            synchronized (this) {
+                if (this.done || this.primary.isCanceled() || !tryAcquireBudget()) {
+                    return;
+                }
+                hedge = this.primary.clone();
+                this.hedge = hedge;
+                this.pending++;
+            }
+            firedCount.incrementAndGet();
+            hedge.enqueue(this);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            Call loser;
+            synchronized (this) {
+                if (this.done) {
+                    response.close();
+                    return;
+                }
+                this.done = true;
+                loser = call == this.primary ? this.hedge : this.primary;
+            }
+            this.cancelTimer();
+            if (loser != null) {
+                loser.cancel();
+            }
+            if (call != this.primary) {
+                wonCount.incrementAndGet();
+            }
+            // Com a vitória do hedge a original é cancelada a seguir: o tempo até aqui é o
+            // mínimo que ela levaria
+            this.recordPrimary();
+            this.callback.onResponse(call, response);
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            if (call == this.primary && !call.isCanceled()) {
+                this.recordPrimary();
+            }
+            Call other = null;
+            synchronized (this) {
+                if (this.done) {
+                    return;
+                }
+                this.pending--;
+                boolean cancelledByCaller = call == this.primary && call.isCanceled();
+                if (this.pending > 0 && !cancelledByCaller) {
+                    return;
+                }
+                this.done = true;
+                if (cancelledByCaller) {
+                    other = this.hedge;
+                }
+            }
+            this.cancelTimer();
+            if (other != null) {
+                other.cancel();
+            }
+            this.callback.onFailure(this.primary, e);
+        }
+    }
+
+    public static class Builder {
+
+        private double percentile = 95;
+        private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(2);
+        private int minSamples = 20;
+        private double budgetRatio = 0.05;
+        private ScheduledExecutorService scheduler;
+
+        /**
+         * Percentil da latência do endpoint utilizado como atraso do hedge (padrão 95)
+         */
+        public Builder addPercentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Limites do atraso calculado pelo percentil
+         */
+        public Builder addDelayBounds(long minDelay, long maxDelay, TimeUnit timeUnit) {
+            this.minDelayNanos = timeUnit.toNanos(minDelay);
+            this.maxDelayNanos = Math.max(this.minDelayNanos, timeUnit.toNanos(maxDelay));
+            return this;
+        }
+
+        /**
+         * Quantidade de respostas do endpoint necessárias antes do primeiro hedge
+         */
+        public Builder addMinSamples(int minSamples) {
+            this.minSamples = Math.max(1, minSamples);
+            return this;
+        }
+
+        /**
+         * Fração das requisições que pode gerar hedge (padrão 0.05 = 5%)
+         */
+        public Builder addBudget(double ratio) {
+            this.budgetRatio = Math.max(0, ratio);
+            return this;
+        }
+
+        public Builder addScheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+}
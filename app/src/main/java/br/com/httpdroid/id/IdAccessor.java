@@ -0,0 +1,83 @@
+package br.com.httpdroid.id;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.httpdroid.annotations.HttpId;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Acesso ao campo de id de uma classe. O campo é resolvido uma única vez por classe, percorrendo
+ * também as superclasses, e fica em cache para as chamadas seguintes.
+ * Campos anotados com @HttpId têm prioridade sobre o nome informado.
+ * Tipos suportados: int, long, short, String e UUID (demais tipos utilizam toString())
+ */
+public final class IdAccessor {
+
+    private static final ConcurrentHashMap<Class<?>, Map<String, IdAccessor>> CACHE = new ConcurrentHashMap<>();
+
+    private final Field field;
+
+    private IdAccessor(Field field) {
+        this.field = field;
+    }
+
+    public static IdAccessor forClass(Class<?> type, String propertyName) throws NoSuchFieldException {
+        Map<String, IdAccessor> accessors = CACHE.get(type);
+        if (accessors == null) {
+            accessors = new ConcurrentHashMap<>();
+            Map<String, IdAccessor> existing = CACHE.putIfAbsent(type, accessors);
+            if (existing != null) {
+                accessors = existing;
+            }
+        }
+
+        IdAccessor accessor = accessors.get(propertyName);
+        if (accessor == null) {
+            accessor = new IdAccessor(resolveField(type, propertyName));
+            accessors.put(propertyName, accessor);
+        }
+        return accessor;
+    }
+
+    private static Field resolveField(Class<?> type, String propertyName) throws NoSuchFieldException {
+        Field namedField = null;
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(HttpId.class)) {
+                    field.setAccessible(true);
+                    return field;
+                }
+                if (namedField == null && field.getName().equals(propertyName)) {
+                    namedField = field;
+                }
+            }
+        }
+        if (namedField == null) {
+            throw new NoSuchFieldException(propertyName);
+        }
+        namedField.setAccessible(true);
+        return namedField;
+    }
+
+    /**
+     * Retorna o id do objeto, ou null quando o id estiver vazio (0, null ou String vazia)
+     */
+    public String getId(Object object) throws IllegalAccessException {
+        Object value = this.field.get(object);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue() == 0 ? null : value.toString();
+        }
+        if (value instanceof UUID) {
+            return value.toString();
+        }
+        String id = value.toString();
+        return id.isEmpty() ? null : id;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.httpdroid.interfaces;
+
+import java.io.File;
+import java.util.List;
+
+import br.com.httpdroid.async.HttpFuture;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Versão não bloqueante de IMethods. As requisições são enfileiradas no Dispatcher do OkHttp
+ * e nenhuma thread fica parada aguardando a resposta.
+ */
+public interface IAsyncMethods<Object> {
+
+    HttpFuture<Object> getAsync(int id);
+    HttpFuture<List<Object>> getAsync();
+
+    HttpFuture<Object> postAsync(Object object);
+    HttpFuture<Object> putAsync(Object object);
+
+    HttpFuture<Boolean> deleteAsync(int id);
+
+    HttpFuture<Object> uploadAsync(File file);
+
+}
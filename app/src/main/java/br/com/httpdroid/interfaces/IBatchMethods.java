@@ -0,0 +1,20 @@
+package br.com.httpdroid.interfaces;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import br.com.httpdroid.batch.BatchResult;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Operações em lote. Falhas individuais não interrompem o lote e são informadas item a item
+ */
+public interface IBatchMethods<Object> {
+
+    BatchResult<Object> postAll(Collection<Object> objects) throws IOException;
+    BatchResult<Object> putAll(Collection<Object> objects) throws IOException;
+
+    BatchResult<Boolean> deleteAll(Collection<Integer> ids) throws IOException;
+
+}
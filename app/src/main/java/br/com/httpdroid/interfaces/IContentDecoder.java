@@ -0,0 +1,27 @@
+package br.com.httpdroid.interfaces;
+
+import java.io.IOException;
+
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Decodificador de um Content-Encoding de resposta. Permite negociar codificações que não
+ * fazem parte do OkHttp (ex: brotli com org.brotli:dec, zstd com zstd-jni) sem adicionar
+ * essas dependências à biblioteca. Ex:
+ *
+ * public Source decode(Source source) throws IOException {
+ *     return Okio.source(new BrotliInputStream(Okio.buffer(source).inputStream()));
+ * }
+ */
+public interface IContentDecoder {
+
+    /**
+     * Nome da codificação, como enviado em Accept-Encoding. Ex: "br", "zstd", "gzip"
+     */
+    String getEncoding();
+
+    Source decode(Source source) throws IOException;
+
+}
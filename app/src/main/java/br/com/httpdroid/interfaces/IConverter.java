@@ -0,0 +1,27 @@
+package br.com.httpdroid.interfaces;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Motor de serialização utilizado pelo HttpService nos corpos das requisições e das respostas.
+ * As implementações devem ser thread-safe, pois uma mesma instância atende todas as chamadas.
+ *
+ * @see br.com.httpdroid.converter.GsonConverter
+ */
+public interface IConverter {
+
+    <T> T fromJson(Reader reader, Type type) throws IOException;
+
+    void toJson(Object value, Type type, Writer writer) throws IOException;
+
+    /**
+     * Leitor dos elementos de um array JSON, um a um, utilizado por stream()
+     */
+    <T> IElementReader<T> newArrayReader(Reader reader, Type elementType) throws IOException;
+
+}
@@ -0,0 +1,17 @@
+package br.com.httpdroid.interfaces;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Lê os elementos de um array JSON sob demanda. Um array null deve se comportar como vazio
+ */
+public interface IElementReader<Object> extends Closeable {
+
+    boolean hasNext() throws IOException;
+
+    Object next() throws IOException;
+
+}
@@ -0,0 +1,12 @@
+package br.com.httpdroid.interfaces;
+
+/**
+ * Criado por agent em 18/10/2026.
+ */
+public interface IHttpCallback<Object> {
+
+    void onSuccess(Object result);
+
+    void onFailure(Throwable error);
+
+}
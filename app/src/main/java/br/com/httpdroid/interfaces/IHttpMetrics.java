@@ -0,0 +1,23 @@
+package br.com.httpdroid.interfaces;
+
+import br.com.httpdroid.metrics.CallMetrics;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Recebe as medições de cada requisição. As implementações devem ser thread-safe e rápidas,
+ * pois são chamadas nas threads das requisições
+ */
+public interface IHttpMetrics {
+
+    /**
+     * Chamado ao final de cada chamada, com sucesso ou falha
+     */
+    void onCallEnd(CallMetrics metrics);
+
+    /**
+     * Tempo gasto para desserializar o corpo da resposta
+     */
+    void onDecode(String endpoint, long decodeTimeNanos);
+
+}
@@ -0,0 +1,13 @@
+package br.com.httpdroid.interfaces;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Extrai o id de um objeto sem utilizar reflexão.
+ * Deve retornar null quando o objeto ainda não possuir id
+ */
+public interface IIdExtractor<Object> {
+
+    String getId(Object object);
+
+}
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
+import br.com.httpdroid.stream.JsonStream;
+
 /**
  * Criado por Felipe Samuel em 07/01/2019.
  */
@@ -12,11 +14,15 @@ public interface IMethods<Object> {
     Object get(int id) throws IOException;
     List<Object> get() throws IOException;
 
+    JsonStream<Object> stream() throws IOException;
+    void stream(IStreamCallback<Object> callback) throws IOException;
+
     Object post(Object object) throws IOException;
     Object put(Object object) throws IOException, NoSuchFieldException, IllegalAccessException;
 
     boolean delete(int id) throws IOException;
 
     Object upload(File file) throws IOException;
+    File download(File file) throws IOException;
 
 }
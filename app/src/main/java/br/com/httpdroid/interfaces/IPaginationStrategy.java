@@ -0,0 +1,35 @@
+package br.com.httpdroid.interfaces;
+
+import java.util.List;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.RequestOptions;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Define como as páginas de uma listagem são requisitadas. Cada página é descrita pelas
+ * opções da requisição (filtros ou URL), então as implementações não guardam estado e
+ * podem ser compartilhadas.
+ */
+public interface IPaginationStrategy {
+
+    /**
+     * Opções da primeira página, derivadas das opções informadas na chamada
+     */
+    RequestOptions first(RequestOptions options);
+
+    /**
+     * Opções da página seguinte sem depender da resposta da página atual, permitindo
+     * requisitar várias páginas à frente. Deve retornar null quando a próxima página só é
+     * conhecida pela resposta (ex: cursor ou header Link)
+     */
+    RequestOptions predictNext(RequestOptions current);
+
+    /**
+     * Opções da página seguinte a partir da resposta da página atual,
+     * ou null quando esta é a última página
+     */
+    RequestOptions next(RequestOptions current, HttpResult<? extends List<?>> page);
+
+}
@@ -0,0 +1,15 @@
+package br.com.httpdroid.interfaces;
+
+/**
+ * Criado por agent em 18/10/2026.
+ */
+public interface IProgressListener {
+
+    /**
+     * Chamado durante a transferência, no máximo a cada 100ms, e uma última vez ao terminar.
+     * A taxa considera apenas os bytes transferidos nesta execução (não os já enviados antes
+     * de uma retomada)
+     */
+    void onProgress(long bytesTransferred, long totalBytes, long bytesPerSecond);
+
+}
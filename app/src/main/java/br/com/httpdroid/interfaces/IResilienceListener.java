@@ -0,0 +1,22 @@
+package br.com.httpdroid.interfaces;
+
+import br.com.httpdroid.breaker.CircuitBreaker;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Recebe as mudanças do circuit breaker e do limite de concorrência de cada host.
+ * Chamado nas threads das requisições, fora dos locks internos
+ */
+public interface IResilienceListener {
+
+    void onCircuitStateChange(String key, CircuitBreaker.State from, CircuitBreaker.State to);
+
+    void onConcurrencyLimitChange(String key, int from, int to);
+
+    /**
+     * Requisição recusada sem ir à rede (circuito aberto ou fila de concorrência cheia)
+     */
+    void onRejected(String key, String reason);
+
+}
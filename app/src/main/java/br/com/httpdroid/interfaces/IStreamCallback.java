@@ -0,0 +1,14 @@
+package br.com.httpdroid.interfaces;
+
+/**
+ * Criado por agent em 18/10/2026.
+ */
+public interface IStreamCallback<Object> {
+
+    /**
+     * Chamado para cada elemento lido do array de resposta.
+     * Retornar false interrompe a leitura e fecha a conexão
+     */
+    boolean onElement(Object element);
+
+}
@@ -0,0 +1,10 @@
+package br.com.httpdroid.interfaces;
+
+/**
+ * Criado por agent em 18/10/2026.
+ */
+public interface ITransformer<T, R> {
+
+    R apply(T value) throws Exception;
+
+}
@@ -0,0 +1,94 @@
+package br.com.httpdroid.metrics;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Medições de uma única chamada. Fases que não ocorreram (ex: DNS e conexão quando a conexão
+ * foi reaproveitada) possuem duração -1. Todas as durações estão em nanossegundos.
+ */
+public final class CallMetrics {
+
+    private final String endpoint;
+    private final boolean failed;
+    private final boolean connectionReused;
+    private final long dnsNanos;
+    private final long connectNanos;
+    private final long tlsNanos;
+    private final long timeToFirstByteNanos;
+    private final long downloadNanos;
+    private final long totalNanos;
+    private final long bytesSent;
+    private final long bytesReceived;
+
+    CallMetrics(String endpoint, boolean failed, boolean connectionReused, long dnsNanos,
+                long connectNanos, long tlsNanos, long timeToFirstByteNanos, long downloadNanos,
+                long totalNanos, long bytesSent, long bytesReceived) {
+        this.endpoint = endpoint;
+        this.failed = failed;
+        this.connectionReused = connectionReused;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.downloadNanos = downloadNanos;
+        this.totalNanos = totalNanos;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+    }
+
+    /**
+     * Get Properties
+     */
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public boolean isFailed() {
+        return this.failed;
+    }
+
+    public boolean isConnectionReused() {
+        return this.connectionReused;
+    }
+
+    public long getDnsNanos() {
+        return this.dnsNanos;
+    }
+
+    /**
+     * Inclui o handshake TLS
+     */
+    public long getConnectNanos() {
+        return this.connectNanos;
+    }
+
+    public long getTlsNanos() {
+        return this.tlsNanos;
+    }
+
+    /**
+     * Do início da chamada até a chegada dos headers da resposta
+     */
+    public long getTimeToFirstByteNanos() {
+        return this.timeToFirstByteNanos;
+    }
+
+    /**
+     * Leitura do corpo. Como o corpo é desserializado em streaming, inclui o tempo do Gson
+     */
+    public long getDownloadNanos() {
+        return this.downloadNanos;
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+}
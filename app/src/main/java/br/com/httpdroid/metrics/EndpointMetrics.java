@@ -0,0 +1,91 @@
+package br.com.httpdroid.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Medições acumuladas de um endpoint (método + host + caminho)
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+
+    private final AtomicLong callCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong reusedConnectionCount = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    public EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(CallMetrics metrics) {
+        this.callCount.incrementAndGet();
+        if (metrics.isFailed()) {
+            this.failureCount.incrementAndGet();
+        }
+        if (metrics.isConnectionReused()) {
+            this.reusedConnectionCount.incrementAndGet();
+        }
+        this.bytesSent.addAndGet(metrics.getBytesSent());
+        this.bytesReceived.addAndGet(metrics.getBytesReceived());
+        this.latency.recordNanos(metrics.getTotalNanos());
+        this.timeToFirstByte.recordNanos(metrics.getTimeToFirstByteNanos());
+    }
+
+    void recordDecode(long decodeTimeNanos) {
+        this.decodeTime.recordNanos(decodeTimeNanos);
+    }
+
+    /**
+     * Get Properties
+     */
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    /**
+     * Latência total das chamadas, em microssegundos
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    public LatencyHistogram getTimeToFirstByte() {
+        return this.timeToFirstByte;
+    }
+
+    public LatencyHistogram getDecodeTime() {
+        return this.decodeTime;
+    }
+
+    public long getCallCount() {
+        return this.callCount.get();
+    }
+
+    public long getFailureCount() {
+        return this.failureCount.get();
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived.get();
+    }
+
+    /**
+     * Percentual de chamadas que reaproveitaram uma conexão do pool
+     */
+    public double getConnectionReuseRatio() {
+        long calls = this.callCount.get();
+        return calls == 0 ? 0 : (double) this.reusedConnectionCount.get() / calls;
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.httpdroid.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.httpdroid.breaker.CircuitBreaker;
+import br.com.httpdroid.interfaces.IHttpMetrics;
+import br.com.httpdroid.interfaces.IResilienceListener;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Implementação padrão de IHttpMetrics, que acumula as medições por endpoint em memória.
+ * Também pode ser informada em Resilience.Builder.addListener() para acompanhar o estado dos
+ * circuitos e os limites de concorrência
+ */
+public class HttpMetricsRecorder implements IHttpMetrics, IResilienceListener {
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CircuitBreaker.State> circuitStates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> concurrencyLimits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> rejections = new ConcurrentHashMap<>();
+    private final AtomicLong circuitTransitionCount = new AtomicLong();
+
+    @Override
+    public void onCallEnd(CallMetrics metrics) {
+        this.getEndpoint(metrics.getEndpoint()).record(metrics);
+    }
+
+    @Override
+    public void onDecode(String endpoint, long decodeTimeNanos) {
+        this.getEndpoint(endpoint).recordDecode(decodeTimeNanos);
+    }
+
+    @Override
+    public void onCircuitStateChange(String key, CircuitBreaker.State from, CircuitBreaker.State to) {
+        this.circuitStates.put(key, to);
+        this.circuitTransitionCount.incrementAndGet();
+    }
+
+    @Override
+    public void onConcurrencyLimitChange(String key, int from, int to) {
+        this.concurrencyLimits.put(key, to);
+    }
+
+    @Override
+    public void onRejected(String key, String reason) {
+        String counter = key + " " + reason;
+        AtomicLong count = this.rejections.get(counter);
+        if (count == null) {
+            AtomicLong created = new AtomicLong();
+            count = this.rejections.putIfAbsent(counter, created);
+            if (count == null) {
+                count = created;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    public EndpointMetrics getEndpoint(String endpoint) {
+        EndpointMetrics metrics = this.endpoints.get(endpoint);
+        if (metrics == null) {
+            metrics = new EndpointMetrics(endpoint);
+            EndpointMetrics existing = this.endpoints.putIfAbsent(endpoint, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+
+    public Map<String, EndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableMap(new HashMap<>(this.endpoints));
+    }
+
+    /**
+     * Último estado informado do circuito de cada host
+     */
+    public Map<String, CircuitBreaker.State> getCircuitStates() {
+        return Collections.unmodifiableMap(new HashMap<>(this.circuitStates));
+    }
+
+    public long getCircuitTransitionCount() {
+        return this.circuitTransitionCount.get();
+    }
+
+    public Map<String, Integer> getConcurrencyLimits() {
+        return Collections.unmodifiableMap(new HashMap<>(this.concurrencyLimits));
+    }
+
+    /**
+     * Requisições recusadas sem ir à rede, por host e motivo (ex: "api.exemplo.com:443 circuit-open")
+     */
+    public long getRejectedCount(String key, String reason) {
+        AtomicLong count = this.rejections.get(key + " " + reason);
+        return count == null ? 0 : count.get();
+    }
+
+    public void reset() {
+        this.endpoints.clear();
+        this.circuitStates.clear();
+        this.concurrencyLimits.clear();
+        this.rejections.clear();
+        this.circuitTransitionCount.set(0);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.httpdroid.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Histograma de latência no estilo HDR: cada potência de 2 é dividida em 16 faixas lineares,
+ * garantindo erro relativo máximo de ~6% em qualquer percentil, com memória fixa e gravação
+ * sem bloqueio. Os valores são gravados em microssegundos.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Valores negativos (fase que não ocorreu, ex: sem headers em uma chamada que falhou) são
+     * ignorados
+     */
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        this.record(nanos / 1000);
+    }
+
+    public void record(long micros) {
+        if (micros < 0) {
+            return;
+        }
+        this.counts.incrementAndGet(indexOf(micros));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(micros);
+
+        long currentMax = this.max.get();
+        while (micros > currentMax && !this.max.compareAndSet(currentMax, micros)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    /**
+     * Retorna o valor (em microssegundos) abaixo do qual estão percentile% das amostras.
+     * Ex: getPercentile(99) retorna o p99
+     */
+    public long getPercentile(double percentile) {
+        long total = this.count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile / 100d * total);
+        target = Math.max(1, Math.min(total, target));
+
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += this.counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.set(0);
+        this.sum.set(0);
+        this.max.set(0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Get Properties
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long total = this.count.get();
+        return total == 0 ? 0 : (double) this.sum.get() / total;
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.httpdroid.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import br.com.httpdroid.interfaces.IHttpMetrics;
+import br.com.httpdroid.pool.ConnectionWarmUp;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * EventListener do OkHttp que mede as fases de cada chamada e repassa o resultado ao
+ * IHttpMetrics. Uma instância é criada por chamada através da Factory.
+ */
+public class MetricsEventListener extends EventListener {
+
+    private final IHttpMetrics metrics;
+
+    private long callStart;
+    private long dnsStart = -1;
+    private long dnsNanos = -1;
+    private long connectStart = -1;
+    private long connectNanos = -1;
+    private long secureConnectStart = -1;
+    private long tlsNanos = -1;
+    private long responseHeadersEnd = -1;
+    private long responseBodyStart = -1;
+    private long responseBodyEnd = -1;
+    private long bytesSent;
+    private long bytesReceived;
+    private boolean connected = false;
+    private boolean connectionAcquired = false;
+
+    private MetricsEventListener(IHttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public static EventListener.Factory factory(final IHttpMetrics metrics) {
+        return new EventListener.Factory() {
+            @Override
+            public EventListener create(Call call) {
+                if (ConnectionWarmUp.isWarmUp(call.request())) {
+                    return EventListener.NONE;
+                }
+                return new MetricsEventListener(metrics);
+            }
+        };
+    }
+
+    /**
+     * Nome do endpoint utilizado para agrupar as medições. Segmentos numéricos e UUIDs são
+     * substituídos por {id} para que get(1) e get(2) sejam o mesmo endpoint
+     */
+    public static String endpointOf(String method, HttpUrl url) {
+        StringBuilder endpoint = new StringBuilder(method)
+                .append(' ')
+                .append(url.host());
+        for (String segment : url.pathSegments()) {
+            endpoint.append('/');
+            endpoint.append(isId(segment) ? "{id}" : segment);
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        if (segment.length() == 36 && segment.charAt(8) == '-' && segment.charAt(13) == '-') {
+            return true;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        this.callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        this.dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        this.dnsNanos = System.nanoTime() - this.dnsStart;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        this.connectStart = System.nanoTime();
+        this.connected = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        this.secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        this.tlsNanos = System.nanoTime() - this.secureConnectStart;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        this.connectNanos = System.nanoTime() - this.connectStart;
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                              Protocol protocol, IOException ioe) {
+        this.connectNanos = System.nanoTime() - this.connectStart;
+    }
+
+    /**
+     * Só há reaproveitamento quando a conexão foi obtida do pool sem abrir uma nova. Respostas do
+     * cache e chamadas que falharam antes de conectar não contam
+     */
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        this.connectionAcquired = true;
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        this.bytesSent += request.headers().byteCount();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        this.bytesSent += byteCount;
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        this.responseHeadersEnd = System.nanoTime();
+        this.bytesReceived += response.headers().byteCount();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        this.responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        this.responseBodyEnd = System.nanoTime();
+        this.bytesReceived += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        this.report(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        this.report(call, true);
+    }
+
+    private void report(Call call, boolean failed) {
+        long now = System.nanoTime();
+        long timeToFirstByte = this.responseHeadersEnd == -1 ? -1 : this.responseHeadersEnd - this.callStart;
+        long download = this.responseBodyStart == -1 || this.responseBodyEnd == -1
+                ? -1
+                : this.responseBodyEnd - this.responseBodyStart;
+
+        this.metrics.onCallEnd(new CallMetrics(
+                endpointOf(call.request().method(), call.request().url()),
+                failed,
+                this.connectionAcquired && !this.connected,
+                this.dnsNanos,
+                this.connectNanos,
+                this.tlsNanos,
+                timeToFirstByte,
+                download,
+                now - this.callStart,
+                this.bytesSent,
+                this.bytesReceived));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.httpdroid.page;
+
+import java.util.List;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.RequestOptions;
+import br.com.httpdroid.interfaces.IIdExtractor;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Paginação por cursor. O cursor da próxima página é lido de um header da resposta
+ * (ex: X-Next-Cursor) ou obtido do último item da página (ex: ?after=<id do último item>).
+ * Como o cursor só é conhecido após a resposta, o prefetch fica limitado a uma página por vez.
+ */
+public class CursorPagination implements IPaginationStrategy {
+
+    private final String cursorParam;
+    private final String cursorHeader;
+    private final IIdExtractor<?> lastItemExtractor;
+
+    private CursorPagination(String cursorParam, String cursorHeader, IIdExtractor<?> lastItemExtractor) {
+        this.cursorParam = cursorParam;
+        this.cursorHeader = cursorHeader;
+        this.lastItemExtractor = lastItemExtractor;
+    }
+
+    public static CursorPagination fromHeader(String cursorParam, String cursorHeader) {
+        return new CursorPagination(cursorParam, cursorHeader, null);
+    }
+
+    public static <T> CursorPagination fromLastItem(String cursorParam, IIdExtractor<T> extractor) {
+        return new CursorPagination(cursorParam, null, extractor);
+    }
+
+    @Override
+    public RequestOptions first(RequestOptions options) {
+        return options;
+    }
+
+    @Override
+    public RequestOptions predictNext(RequestOptions current) {
+        return null;
+    }
+
+    @Override
+    public RequestOptions next(RequestOptions current, HttpResult<? extends List<?>> page) {
+        List<?> items = page.getBody();
+        if (items == null || items.isEmpty()) {
+            return null;
+        }
+        String cursor;
+        if (this.cursorHeader != null) {
+            cursor = page.getHeader(this.cursorHeader, null);
+        } else {
+            cursor = idOf(this.lastItemExtractor, items.get(items.size() - 1));
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return current.newBuilder()
+                .addFilter(this.cursorParam, cursor)
+                .build();
+    }
+
+    /**
+     * Os itens da página são do mesmo tipo T informado em fromLastItem(), pois a estratégia
+     * pertence ao serviço que os converteu
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> String idOf(IIdExtractor<T> extractor, Object item) {
+        return extractor.getId((T) item);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.httpdroid.page;
+
+import java.util.List;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.RequestOptions;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+import okhttp3.HttpUrl;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Paginação pelo header Link (RFC 5988), utilizada por exemplo pela API do GitHub:
+ * Link: <https://api.exemplo.com/posts?page=2>; rel="next", <...>; rel="last"
+ * A URL com rel="next" é requisitada como está, e a listagem termina quando ela não existe.
+ */
+public class LinkHeaderPagination implements IPaginationStrategy {
+
+    @Override
+    public RequestOptions first(RequestOptions options) {
+        return options;
+    }
+
+    @Override
+    public RequestOptions predictNext(RequestOptions current) {
+        return null;
+    }
+
+    @Override
+    public RequestOptions next(RequestOptions current, HttpResult<? extends List<?>> page) {
+        HttpUrl next = null;
+        for (String header : page.getHeaders().values("Link")) {
+            next = findNext(header, page.getResponse().request().url());
+            if (next != null) {
+                break;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+        return current.newBuilder()
+                .addUrl(next)
+                .build();
+    }
+
+    /**
+     * Procura o link com rel="next" em um valor do header. URLs relativas são resolvidas
+     * a partir da URL da página atual
+     */
+    static HttpUrl findNext(String header, HttpUrl pageUrl) {
+        int index = 0;
+        while (index < header.length()) {
+            int start = header.indexOf('<', index);
+            if (start < 0) {
+                return null;
+            }
+            int end = header.indexOf('>', start);
+            if (end < 0) {
+                return null;
+            }
+            int nextLink = header.indexOf('<', end);
+            String params = nextLink < 0 ? header.substring(end + 1) : header.substring(end + 1, nextLink);
+            params = params.trim();
+            if (params.endsWith(",")) {
+                params = params.substring(0, params.length() - 1);
+            }
+            if (isNextRelation(params)) {
+                return pageUrl.resolve(header.substring(start + 1, end).trim());
+            }
+            index = nextLink < 0 ? header.length() : nextLink;
+        }
+        return null;
+    }
+
+    /**
+     * O parâmetro rel pode conter várias relações separadas por espaço. Ex: rel="next last"
+     */
+    private static boolean isNextRelation(String params) {
+        for (String param : params.split(";")) {
+            String[] pair = param.trim().split("=", 2);
+            if (pair.length != 2 || !pair[0].trim().equalsIgnoreCase("rel")) {
+                continue;
+            }
+            String value = pair[1].trim();
+            if (value.startsWith("\"") && value.endsWith("\"") && value.length() >= 2) {
+                value = value.substring(1, value.length() - 1);
+            }
+            for (String relation : value.trim().split("\\s+")) {
+                if (relation.equalsIgnoreCase("next")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
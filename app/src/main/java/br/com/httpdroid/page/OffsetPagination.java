@@ -0,0 +1,52 @@
+package br.com.httpdroid.page;
+
+import java.util.List;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.RequestOptions;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Paginação por deslocamento. Ex: ?offset=100&limit=50
+ * A listagem termina quando uma página vem com menos itens que o limite.
+ */
+public class OffsetPagination implements IPaginationStrategy {
+
+    private final String offsetParam;
+    private final String limitParam;
+    private final int limit;
+
+    public OffsetPagination(String offsetParam, String limitParam, int limit) {
+        this.offsetParam = offsetParam;
+        this.limitParam = limitParam;
+        this.limit = limit;
+    }
+
+    @Override
+    public RequestOptions first(RequestOptions options) {
+        return this.forOffset(options, 0);
+    }
+
+    @Override
+    public RequestOptions predictNext(RequestOptions current) {
+        return this.forOffset(current, Long.parseLong(current.getFilters().get(this.offsetParam)) + this.limit);
+    }
+
+    @Override
+    public RequestOptions next(RequestOptions current, HttpResult<? extends List<?>> page) {
+        List<?> items = page.getBody();
+        if (items == null || items.size() < this.limit) {
+            return null;
+        }
+        return this.predictNext(current);
+    }
+
+    private RequestOptions forOffset(RequestOptions options, long offset) {
+        return options.newBuilder()
+                .addFilter(this.offsetParam, String.valueOf(offset))
+                .addFilter(this.limitParam, String.valueOf(this.limit))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.httpdroid.page;
+
+import java.io.IOException;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Falha ao obter uma página durante a iteração. Iterator não permite exceções checadas, então
+ * o erro de rede fica em getCause() e o status HTTP em getStatusCode() (-1 quando não houve
+ * resposta)
+ */
+public class PageLoadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public PageLoadException(String message, int statusCode, IOException cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Get Properties
+     */
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+        return (IOException) super.getCause();
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.httpdroid.page;
+
+import java.util.List;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.RequestOptions;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Paginação pelo número da página. Ex: ?page=2&limit=50
+ * A listagem termina quando uma página vem vazia ou com menos itens que o tamanho da página.
+ */
+public class PageNumberPagination implements IPaginationStrategy {
+
+    private final String pageParam;
+    private final String sizeParam;
+    private final int firstPage;
+    private final int pageSize;
+
+    /**
+     * @param sizeParam pode ser null quando o servidor não aceita o tamanho da página,
+     *                  neste caso a listagem termina apenas na primeira página vazia
+     */
+    public PageNumberPagination(String pageParam, String sizeParam, int firstPage, int pageSize) {
+        this.pageParam = pageParam;
+        this.sizeParam = sizeParam;
+        this.firstPage = firstPage;
+        this.pageSize = sizeParam == null ? 0 : pageSize;
+    }
+
+    public PageNumberPagination(String pageParam, String sizeParam, int pageSize) {
+        this(pageParam, sizeParam, 1, pageSize);
+    }
+
+    @Override
+    public RequestOptions first(RequestOptions options) {
+        return this.forPage(options, this.firstPage);
+    }
+
+    @Override
+    public RequestOptions predictNext(RequestOptions current) {
+        return this.forPage(current, Integer.parseInt(current.getFilters().get(this.pageParam)) + 1);
+    }
+
+    @Override
+    public RequestOptions next(RequestOptions current, HttpResult<? extends List<?>> page) {
+        List<?> items = page.getBody();
+        if (items == null || items.isEmpty() || items.size() < this.pageSize) {
+            return null;
+        }
+        return this.predictNext(current);
+    }
+
+    private RequestOptions forPage(RequestOptions options, int page) {
+        RequestOptions.Builder builder = options.newBuilder()
+                .addFilter(this.pageParam, String.valueOf(page));
+        if (this.sizeParam != null) {
+            builder.addFilter(this.sizeParam, String.valueOf(this.pageSize));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,255 @@
+package br.com.httpdroid.page;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.RequestOptions;
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.interfaces.IHttpCallback;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+import br.com.httpdroid.interfaces.IStreamCallback;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Iterador sobre todos os itens de uma listagem paginada. As páginas são requisitadas em
+ * segundo plano enquanto a página atual é consumida, mantendo no máximo prefetchDepth páginas
+ * à frente. Com estratégias previsíveis (número da página, offset) as páginas à frente são
+ * requisitadas em paralelo; com cursor ou header Link cada página é requisitada assim que a
+ * anterior chega.
+ * Chamar close() antes do fim cancela as páginas ainda em andamento.
+ */
+public class PagedIterator<T> implements Iterator<T>, Closeable {
+
+    private final HttpService<T> service;
+    private final IPaginationStrategy strategy;
+    private final int prefetchDepth;
+
+    /**
+     * Páginas requisitadas e ainda não consumidas, na ordem da listagem
+     */
+    private final ArrayDeque<Page<T>> pages = new ArrayDeque<>();
+
+    /**
+     * Última página requisitada, utilizada para calcular a próxima
+     */
+    private Page<T> tail;
+    private final RequestOptions firstOptions;
+
+    private Iterator<T> current = Collections.<T>emptyList().iterator();
+    private boolean finished = false;
+    private boolean closed = false;
+    private int pageCount = 0;
+
+    public PagedIterator(HttpService<T> service, IPaginationStrategy strategy, RequestOptions options,
+                         int prefetchDepth) {
+        this.service = service;
+        this.strategy = strategy;
+        this.prefetchDepth = Math.max(0, prefetchDepth);
+        this.firstOptions = strategy.first(options);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.current.hasNext()) {
+            Page<T> page;
+            synchronized (this) {
+                if (this.closed) {
+                    return false;
+                }
+                if (this.pages.isEmpty()) {
+                    this.requestPages(1);
+                }
+                page = this.pages.pollFirst();
+            }
+            if (page == null) {
+                this.close();
+                return false;
+            }
+            this.current = this.consume(page);
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Aguarda a página e decide se a listagem continua. Páginas requisitadas além do fim
+     * (prefetch especulativo) são canceladas
+     */
+    private Iterator<T> consume(Page<T> page) {
+        HttpResult<List<T>> result;
+        try {
+            result = page.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+            throw new CancellationException("Paginação interrompida");
+        } catch (ExecutionException e) {
+            this.close();
+            throw failure(page, e.getCause());
+        }
+        if (!result.isSuccessful()) {
+            this.close();
+            throw new PageLoadException("Falha ao obter a página " + page.options.getFilters()
+                    + ": status " + result.getStatusCode(), result.getStatusCode(), null);
+        }
+
+        List<T> items = result.getBody();
+        synchronized (this) {
+            this.pageCount++;
+            if (items == null || items.isEmpty() || this.strategy.next(page.options, result) == null) {
+                this.finish();
+            } else {
+                this.requestPages(this.prefetchDepth);
+            }
+        }
+        return items == null ? Collections.<T>emptyList().iterator() : items.iterator();
+    }
+
+    /**
+     * Erros de rede viram PageLoadException; erros de programação (conversão, callbacks) são
+     * repassados como estão
+     */
+    private static RuntimeException failure(Page<?> page, Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        IOException error = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        return new PageLoadException("Falha ao obter a página " + page.options.getFilters(), -1, error);
+    }
+
+    /**
+     * Requisita páginas até haver "limit" páginas à frente. Quando a próxima página depende da
+     * resposta da última, registra um callback para continuar assim que ela chegar
+     */
+    private synchronized void requestPages(int limit) {
+        while (!this.closed && !this.finished && this.pages.size() < limit) {
+            RequestOptions options;
+            if (this.tail == null) {
+                options = this.firstOptions;
+            } else if (this.tail.future.isDone()) {
+                HttpResult<List<T>> result = this.tail.getResultNow();
+                if (result == null || !result.isSuccessful()) {
+                    return;
+                }
+                options = this.strategy.next(this.tail.options, result);
+                if (options == null) {
+                    this.finished = true;
+                    return;
+                }
+            } else {
+                options = this.strategy.predictNext(this.tail.options);
+                if (options == null) {
+                    this.continueAfter(this.tail);
+                    return;
+                }
+            }
+            this.tail = new Page<>(options, this.service.getForResultAsync(options));
+            this.pages.addLast(this.tail);
+        }
+    }
+
+    private void continueAfter(final Page<T> page) {
+        if (page.waiting) {
+            return;
+        }
+        page.waiting = true;
+        page.future.addCallback(new IHttpCallback<HttpResult<List<T>>>() {
+            @Override
+            public void onSuccess(HttpResult<List<T>> result) {
+                requestPages(prefetchDepth);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+            }
+        });
+    }
+
+    private synchronized void finish() {
+        this.finished = true;
+        for (Page<T> page : this.pages) {
+            page.future.cancel(true);
+        }
+        this.pages.clear();
+    }
+
+    /**
+     * Lê todos os itens repassando-os ao callback, até o fim da listagem ou até o callback
+     * retornar false
+     */
+    public void forEach(IStreamCallback<T> callback) {
+        try {
+            while (this.hasNext()) {
+                if (!callback.onElement(this.next())) {
+                    break;
+                }
+            }
+        } finally {
+            this.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            this.finish();
+            this.closed = true;
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized int getPageCount() {
+        return this.pageCount;
+    }
+
+    public synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    private static class Page<T> {
+
+        private final RequestOptions options;
+        private final HttpFuture<HttpResult<List<T>>> future;
+        private boolean waiting = false;
+
+        private Page(RequestOptions options, HttpFuture<HttpResult<List<T>>> future) {
+            this.options = options;
+            this.future = future;
+        }
+
+        private HttpResult<List<T>> getResultNow() {
+            try {
+                return this.future.get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package br.com.httpdroid.pool;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.breaker.Resilience;
+import br.com.httpdroid.compression.Compression;
+import br.com.httpdroid.interfaces.IHttpMetrics;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import br.com.httpdroid.retry.RetryPolicy;
+import okhttp3.Authenticator;
+import okhttp3.Cache;
+import okhttp3.Dns;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Configuração imutável de um cliente OkHttp. É utilizada como chave no {@link HttpClientPool},
+ * portanto dois serviços com a mesma configuração compartilham exatamente o mesmo cliente.
+ */
+public final class ClientConfig {
+
+    private final long connectTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final boolean retryEnabled;
+    private final boolean http2PriorKnowledgeEnabled;
+
+    /**
+     * Os objetos abaixo são comparados por identidade: uma nova instância gera um novo cliente,
+     * por isso devem ser reutilizados entre os HttpService (ver HttpClientPool)
+     */
+    private final Cache cache;
+    private final Authenticator authenticator;
+    private final Interceptor interceptor;
+    private final IHttpMetrics metrics;
+    private final Compression compression;
+    private final RetryPolicy retryPolicy;
+    private final Resilience resilience;
+    private final ConnectionWarmUp warmUp;
+    private final Dns dns;
+
+    private ClientConfig(Builder builder) {
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.writeTimeoutMillis = builder.writeTimeoutMillis;
+        this.readTimeoutMillis = builder.readTimeoutMillis;
+        this.retryEnabled = builder.retryEnabled;
+        this.http2PriorKnowledgeEnabled = builder.http2PriorKnowledgeEnabled;
+        this.cache = builder.cache;
+        this.authenticator = builder.authenticator;
+        this.interceptor = builder.interceptor;
+        this.metrics = builder.metrics;
+        this.compression = builder.compression;
+        this.retryPolicy = builder.retryPolicy;
+        this.resilience = builder.resilience;
+        this.warmUp = builder.warmUp;
+        this.dns = builder.dns;
+    }
+
+    /**
+     * Cria um novo cliente derivado de rootClient. O cliente derivado compartilha o
+     * ConnectionPool, o Dispatcher e o cache de sessões TLS do cliente raiz. Os limites do
+     * Dispatcher são configurados no HttpClientPool
+     */
+    OkHttpClient newClient(OkHttpClient rootClient) {
+        OkHttpClient.Builder okHttpBuilder = rootClient.newBuilder();
+
+        if (this.connectTimeoutMillis != 0) {
+            okHttpBuilder.connectTimeout(this.connectTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (this.writeTimeoutMillis != 0) {
+            okHttpBuilder.writeTimeout(this.writeTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (this.readTimeoutMillis != 0) {
+            okHttpBuilder.readTimeout(this.readTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (this.cache != null) {
+            okHttpBuilder.cache(this.cache);
+        }
+        okHttpBuilder.retryOnConnectionFailure(this.retryEnabled);
+
+        // HTTP/2 é negociado via ALPN em conexões TLS, com HTTP/1.1 como alternativa.
+        // Prior knowledge utiliza HTTP/2 direto em texto puro (h2c), sem negociação
+        if (this.http2PriorKnowledgeEnabled) {
+            okHttpBuilder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        } else {
+            okHttpBuilder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        }
+
+        if (this.dns != null) {
+            okHttpBuilder.dns(this.dns);
+        }
+        if (this.authenticator != null) {
+            okHttpBuilder.authenticator(this.authenticator);
+        }
+        // Cada retentativa passa novamente pelos demais interceptors (ex: autenticação)
+        if (this.retryPolicy != null) {
+            okHttpBuilder.addInterceptor(this.retryPolicy);
+        }
+        if (this.resilience != null) {
+            okHttpBuilder.addInterceptor(this.resilience);
+        }
+        if (this.interceptor != null) {
+            okHttpBuilder.addInterceptor(this.interceptor);
+        }
+        if (this.compression != null) {
+            okHttpBuilder.addInterceptor(this.compression);
+        }
+        if (this.warmUp != null) {
+            okHttpBuilder.addNetworkInterceptor(this.warmUp);
+        }
+        if (this.metrics != null) {
+            okHttpBuilder.eventListenerFactory(MetricsEventListener.factory(this.metrics));
+        }
+        return okHttpBuilder.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClientConfig)) {
+            return false;
+        }
+        ClientConfig that = (ClientConfig) o;
+        return this.connectTimeoutMillis == that.connectTimeoutMillis
+                && this.writeTimeoutMillis == that.writeTimeoutMillis
+                && this.readTimeoutMillis == that.readTimeoutMillis
+                && this.retryEnabled == that.retryEnabled
+                && this.http2PriorKnowledgeEnabled == that.http2PriorKnowledgeEnabled
+                && this.cache == that.cache
+                && this.authenticator == that.authenticator
+                && this.interceptor == that.interceptor
+                && this.metrics == that.metrics
+                && this.compression == that.compression
+                && this.retryPolicy == that.retryPolicy
+                && this.resilience == that.resilience
+                && this.warmUp == that.warmUp
+                && this.dns == that.dns;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (this.connectTimeoutMillis ^ (this.connectTimeoutMillis >>> 32));
+        result = 31 * result + (int) (this.writeTimeoutMillis ^ (this.writeTimeoutMillis >>> 32));
+        result = 31 * result + (int) (this.readTimeoutMillis ^ (this.readTimeoutMillis >>> 32));
+        result = 31 * result + (this.retryEnabled ? 1 : 0);
+        result = 31 * result + (this.http2PriorKnowledgeEnabled ? 1 : 0);
+        result = 31 * result + System.identityHashCode(this.cache);
+        result = 31 * result + System.identityHashCode(this.authenticator);
+        result = 31 * result + System.identityHashCode(this.interceptor);
+        result = 31 * result + System.identityHashCode(this.metrics);
+        result = 31 * result + System.identityHashCode(this.compression);
+        result = 31 * result + System.identityHashCode(this.retryPolicy);
+        result = 31 * result + System.identityHashCode(this.resilience);
+        result = 31 * result + System.identityHashCode(this.warmUp);
+        result = 31 * result + System.identityHashCode(this.dns);
+        return result;
+    }
+
+    public static class Builder {
+
+        private long connectTimeoutMillis = 0;
+        private long writeTimeoutMillis = 0;
+        private long readTimeoutMillis = 0;
+        private boolean retryEnabled = false;
+        private boolean http2PriorKnowledgeEnabled = false;
+        private Cache cache;
+        private Authenticator authenticator;
+        private Interceptor interceptor;
+        private IHttpMetrics metrics;
+        private Compression compression;
+        private RetryPolicy retryPolicy;
+        private Resilience resilience;
+        private ConnectionWarmUp warmUp;
+        private Dns dns;
+
+        public Builder connectTimeout(long timeout, TimeUnit timeUnit) {
+            this.connectTimeoutMillis = toMillis(timeout, timeUnit);
+            return this;
+        }
+
+        public Builder writeTimeout(long timeout, TimeUnit timeUnit) {
+            this.writeTimeoutMillis = toMillis(timeout, timeUnit);
+            return this;
+        }
+
+        public Builder readTimeout(long timeout, TimeUnit timeUnit) {
+            this.readTimeoutMillis = toMillis(timeout, timeUnit);
+            return this;
+        }
+
+        public Builder retryEnabled(boolean retryEnabled) {
+            this.retryEnabled = retryEnabled;
+            return this;
+        }
+
+        public Builder cache(Cache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder authenticator(Authenticator authenticator) {
+            this.authenticator = authenticator;
+            return this;
+        }
+
+        public Builder interceptor(Interceptor interceptor) {
+            this.interceptor = interceptor;
+            return this;
+        }
+
+        public Builder metrics(IHttpMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder compression(Compression compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public Builder resilience(Resilience resilience) {
+            this.resilience = resilience;
+            return this;
+        }
+
+        public Builder http2PriorKnowledge(boolean enabled) {
+            this.http2PriorKnowledgeEnabled = enabled;
+            return this;
+        }
+
+        public Builder warmUp(ConnectionWarmUp warmUp) {
+            this.warmUp = warmUp;
+            return this;
+        }
+
+        public Builder dns(Dns dns) {
+            this.dns = dns;
+            return this;
+        }
+
+        public ClientConfig build() {
+            return new ClientConfig(this);
+        }
+
+        private static long toMillis(long timeout, TimeUnit timeUnit) {
+            if (timeout == 0 || timeUnit == null) {
+                return 0;
+            }
+            return timeUnit.toMillis(timeout);
+        }
+    }
+}
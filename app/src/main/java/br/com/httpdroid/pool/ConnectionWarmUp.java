@@ -0,0 +1,188 @@
+package br.com.httpdroid.pool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Abre as conexões com os hosts do serviço em segundo plano durante o build(), tirando DNS,
+ * TCP, TLS e a negociação ALPN (HTTP/2) do caminho da primeira requisição. Cada host recebe
+ * requisições HEAD em paralelo, uma por conexão desejada; as conexões ficam no pool
+ * compartilhado e as sessões TLS no cache do cliente raiz.
+ *
+ * Também funciona como network interceptor, medindo quantas primeiras requisições de cada
+ * host encontraram uma conexão aquecida. Uma mesma instância deve ser compartilhada pelos
+ * serviços, pois cada host é aquecido apenas uma vez.
+ */
+public class ConnectionWarmUp implements Interceptor {
+
+    private final int connections;
+    private final List<HttpUrl> urls;
+
+    private final Set<String> startedHosts = new HashSet<>();
+    private final Set<String> requestedHosts = new HashSet<>();
+    private final Map<Connection, Boolean> warmConnections = new WeakHashMap<>();
+
+    private final AtomicLong warmedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong firstRequestCount = new AtomicLong();
+    private final AtomicLong warmHitCount = new AtomicLong();
+
+    private ConnectionWarmUp(Builder builder) {
+        this.connections = builder.connections;
+        this.urls = new ArrayList<>(builder.urls);
+    }
+
+    /**
+     * Aquece o host da URL base e as URLs adicionais. Hosts já aquecidos são ignorados
+     */
+    public void start(OkHttpClient client, HttpUrl baseUrl) {
+        List<HttpUrl> targets = new ArrayList<>();
+        targets.add(baseUrl);
+        targets.addAll(this.urls);
+        for (HttpUrl url : targets) {
+            synchronized (this) {
+                if (!this.startedHosts.add(hostOf(url))) {
+                    continue;
+                }
+            }
+            Request request = new Request.Builder()
+                    .url(url.newBuilder().encodedPath("/").query(null).build())
+                    .head()
+                    .tag(ConnectionWarmUp.class, this)
+                    .build();
+            for (int i = 0; i < this.connections; i++) {
+                client.newCall(request).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        failedCount.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        response.close();
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Connection connection = chain.connection();
+        if (request.tag(ConnectionWarmUp.class) == this) {
+            if (connection != null) {
+                synchronized (this) {
+                    if (this.warmConnections.put(connection, Boolean.TRUE) == null) {
+                        this.warmedCount.incrementAndGet();
+                    }
+                }
+            }
+            return chain.proceed(request);
+        }
+
+        boolean first;
+        boolean warm;
+        synchronized (this) {
+            first = this.requestedHosts.add(hostOf(request.url()));
+            warm = connection != null && this.warmConnections.containsKey(connection);
+        }
+        if (first) {
+            this.firstRequestCount.incrementAndGet();
+            if (warm) {
+                this.warmHitCount.incrementAndGet();
+            }
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * Indica se a requisição foi disparada pelo aquecimento. Retentativas, circuit breaker e
+     * métricas ignoram essas chamadas
+     */
+    public static boolean isWarmUp(Request request) {
+        return request.tag(ConnectionWarmUp.class) != null;
+    }
+
+    private static String hostOf(HttpUrl url) {
+        return url.scheme() + "://" + url.host() + ":" + url.port();
+    }
+
+    /**
+     * Get Properties
+     */
+    public int getConnections() {
+        return this.connections;
+    }
+
+    /**
+     * Conexões abertas pelo aquecimento
+     */
+    public long getWarmedCount() {
+        return this.warmedCount.get();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * Primeiras requisições de cada host, e quantas delas utilizaram uma conexão aquecida
+     */
+    public long getFirstRequestCount() {
+        return this.firstRequestCount.get();
+    }
+
+    public long getWarmHitCount() {
+        return this.warmHitCount.get();
+    }
+
+    public double getWarmHitRate() {
+        long first = this.firstRequestCount.get();
+        return first == 0 ? 0 : (double) this.warmHitCount.get() / first;
+    }
+
+    public static class Builder {
+
+        private int connections = 1;
+        private final List<HttpUrl> urls = new ArrayList<>();
+
+        /**
+         * Conexões abertas por host. Com HTTP/2 uma conexão é suficiente, pois as requisições
+         * são multiplexadas; com HTTP/1.1 cada requisição simultânea ocupa uma conexão
+         */
+        public Builder addConnections(int connections) {
+            this.connections = Math.max(1, connections);
+            return this;
+        }
+
+        /**
+         * Outro host a ser aquecido além da URL base (ex: CDN de imagens)
+         */
+        public Builder addUrl(String url) {
+            this.urls.add(HttpUrl.get(url));
+            return this;
+        }
+
+        public ConnectionWarmUp build() {
+            return new ConnectionWarmUp(this);
+        }
+    }
+}
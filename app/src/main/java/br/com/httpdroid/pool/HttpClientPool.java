@@ -0,0 +1,175 @@
+package br.com.httpdroid.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Registro de clientes OkHttp compartilhado por todo o processo.
+ * Todos os clientes entregues são derivados de um único cliente raiz através de
+ * OkHttpClient.newBuilder(), reaproveitando conexões, threads e sessões TLS entre
+ * todas as instâncias de HttpService.
+ *
+ * Objetos de configuração (interceptor, authenticator, métricas, RetryPolicy, Resilience,
+ * ConnectionWarmUp, Dns...) são comparados por identidade: devem ser criados uma vez e
+ * reutilizados, e não a cada tela. O registro guarda no máximo maxClients clientes e descarta
+ * o menos utilizado; um cliente descartado continua funcionando para quem ainda o utiliza,
+ * já que as conexões e threads pertencem ao cliente raiz.
+ *
+ * O Dispatcher também é do cliente raiz, então maxRequests e maxRequestsPerHost valem para todos
+ * os serviços somados. O pool padrão eleva os limites do OkHttp (64 e 5) para
+ * DEFAULT_MAX_REQUESTS e DEFAULT_MAX_REQUESTS_PER_HOST; ajuste-os com setMaxRequests() e
+ * setMaxRequestsPerHost().
+ */
+public class HttpClientPool {
+
+    public static final int DEFAULT_MAX_CLIENTS = 32;
+    public static final int DEFAULT_MAX_REQUESTS = 128;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 32;
+
+    private static final HttpClientPool DEFAULT = new HttpClientPool(newRootClient());
+
+    private final OkHttpClient rootClient;
+    private final int maxClients;
+    private final Map<ClientConfig, OkHttpClient> clients;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public HttpClientPool(OkHttpClient rootClient) {
+        this(rootClient, DEFAULT_MAX_CLIENTS);
+    }
+
+    public HttpClientPool(OkHttpClient rootClient, int maxClients) {
+        this.rootClient = rootClient;
+        this.maxClients = Math.max(1, maxClients);
+        this.clients = new LinkedHashMap<ClientConfig, OkHttpClient>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientConfig, OkHttpClient> eldest) {
+                if (size() > HttpClientPool.this.maxClients) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static OkHttpClient newRootClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(DEFAULT_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS_PER_HOST);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .build();
+    }
+
+    /**
+     * Pool utilizado por padrão por todas as instâncias de HttpService
+     */
+    public static HttpClientPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retorna o cliente correspondente à configuração, criando-o apenas na primeira vez
+     */
+    public OkHttpClient getClient(ClientConfig config) {
+        synchronized (this.clients) {
+            OkHttpClient client = this.clients.get(config);
+            if (client != null) {
+                this.hitCount.incrementAndGet();
+                return client;
+            }
+            this.missCount.incrementAndGet();
+            client = config.newClient(this.rootClient);
+            this.clients.put(config, client);
+            return client;
+        }
+    }
+
+    /**
+     * Máximo de chamadas assíncronas simultâneas de todos os serviços do pool
+     */
+    public void setMaxRequests(int maxRequests) {
+        this.rootClient.dispatcher().setMaxRequests(maxRequests);
+    }
+
+    /**
+     * Máximo de chamadas assíncronas simultâneas por host, somando todos os serviços do pool
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.rootClient.dispatcher().setMaxRequestsPerHost(maxRequestsPerHost);
+    }
+
+    /**
+     * Remove todos os clientes derivados e fecha as conexões ociosas
+     */
+    public void evictAll() {
+        synchronized (this.clients) {
+            this.clients.clear();
+        }
+        this.rootClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Get Properties
+     */
+    public OkHttpClient getRootClient() {
+        return this.rootClient;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Clientes descartados por exceder maxClients. Um valor crescente indica objetos de
+     * configuração recriados a cada HttpService
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    public int getMaxClients() {
+        return this.maxClients;
+    }
+
+    public int getMaxRequests() {
+        return this.rootClient.dispatcher().getMaxRequests();
+    }
+
+    public int getMaxRequestsPerHost() {
+        return this.rootClient.dispatcher().getMaxRequestsPerHost();
+    }
+
+    public double getHitRate() {
+        long hits = this.hitCount.get();
+        long total = hits + this.missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int getClientCount() {
+        synchronized (this.clients) {
+            return this.clients.size();
+        }
+    }
+
+    public int getConnectionCount() {
+        return this.rootClient.connectionPool().connectionCount();
+    }
+
+    public int getIdleConnectionCount() {
+        return this.rootClient.connectionPool().idleConnectionCount();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.httpdroid.retry;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Limita as retentativas a uma porcentagem das requisições normais. Cada requisição deposita
+ * "ratio" fichas e cada retentativa consome uma. Durante uma indisponibilidade as falhas
+ * esgotam as fichas e os clientes param de multiplicar a carga sobre o servidor.
+ *
+ * minRetriesPerSecond garante algumas retentativas mesmo com pouco tráfego.
+ * Uma mesma instância deve ser compartilhada pelos serviços que acessam o mesmo backend.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final double maxTokens;
+
+    private double tokens;
+    private long reserveSecond;
+    private int reserveUsed;
+
+    private long requestCount;
+    private long retryCount;
+    private long rejectedCount;
+
+    /**
+     * @param ratio               retentativas permitidas por requisição (ex: 0.1 = 10%)
+     * @param minRetriesPerSecond retentativas sempre permitidas a cada segundo
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        this.ratio = Math.max(0, ratio);
+        this.minRetriesPerSecond = Math.max(0, minRetriesPerSecond);
+        // Acumula no máximo o equivalente a 10 segundos de reserva, evitando rajadas após
+        // um longo período sem falhas
+        this.maxTokens = Math.max(1, this.minRetriesPerSecond * 10);
+    }
+
+    synchronized void onRequest() {
+        this.requestCount++;
+        this.tokens = Math.min(this.maxTokens, this.tokens + this.ratio);
+    }
+
+    /**
+     * Consome uma ficha para a retentativa. Retorna false quando o orçamento está esgotado
+     */
+    synchronized boolean tryRetry() {
+        long second = System.nanoTime() / 1000000000L;
+        if (second != this.reserveSecond) {
+            this.reserveSecond = second;
+            this.reserveUsed = 0;
+        }
+        if (this.reserveUsed < this.minRetriesPerSecond) {
+            this.reserveUsed++;
+        } else if (this.tokens >= 1) {
+            this.tokens -= 1;
+        } else {
+            this.rejectedCount++;
+            return false;
+        }
+        this.retryCount++;
+        return true;
+    }
+
+    /**
+     * Get Properties
+     */
+    public double getRatio() {
+        return this.ratio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return this.minRetriesPerSecond;
+    }
+
+    public synchronized long getRequestCount() {
+        return this.requestCount;
+    }
+
+    public synchronized long getRetryCount() {
+        return this.retryCount;
+    }
+
+    /**
+     * Retentativas descartadas por falta de orçamento
+     */
+    public synchronized long getRejectedCount() {
+        return this.rejectedCount;
+    }
+}
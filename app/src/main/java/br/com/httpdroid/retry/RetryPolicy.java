@@ -0,0 +1,383 @@
+package br.com.httpdroid.retry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.security.cert.CertificateException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import br.com.httpdroid.breaker.CallRejectedException;
+import br.com.httpdroid.enums.StatusCode;
+import br.com.httpdroid.pool.ConnectionWarmUp;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Política de retentativas, aplicada como interceptor em todas as requisições do cliente:
+ *
+ * - Falhas de rede e os status 408, 429, 502, 503 e 504 são repetidos, até maxRetries vezes.
+ * - O intervalo cresce exponencialmente (base, 2x base, 4x base... até maxDelay) com jitter
+ *   aleatório, para que vários clientes não repitam as requisições ao mesmo tempo.
+ * - O header Retry-After (segundos ou data HTTP, nos três formatos da RFC 7231) é respeitado.
+ *   Se pedir uma espera maior que maxRetryAfter a resposta é devolvida sem retentativa.
+ * - Métodos não idempotentes (POST, PATCH) só são repetidos quando a requisição com certeza
+ *   não foi processada: falha ao conectar, 429 ou 503. O header Idempotency-Key torna
+ *   qualquer método idempotente.
+ * - O RetryBudget limita as retentativas a uma porcentagem do tráfego normal.
+ * - Em chamadas síncronas a espera acontece na thread de quem chamou e é interrompida por
+ *   Call.cancel(). As chamadas assíncronas do HttpService passam por defer(): o interceptor
+ *   faz uma única tentativa e a próxima é agendada fora do Dispatcher (nextDelay()), sem
+ *   ocupar as threads do OkHttp durante a espera.
+ *
+ * Diferente de isRetryEnabled(), que apenas repete falhas de conexão dentro do OkHttp.
+ */
+public class RetryPolicy implements Interceptor {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final Random RANDOM = new Random();
+
+    /**
+     * Intervalo máximo entre as verificações de cancelamento durante a espera
+     */
+    private static final long CANCEL_CHECK_MILLIS = 50;
+
+    /**
+     * Formatos de data aceitos no Retry-After: IMF-fixdate, RFC 850 e asctime
+     */
+    private static final String[] HTTP_DATE_FORMATS = {
+            "EEE, dd MMM yyyy HH:mm:ss zzz",
+            "EEEE, dd-MMM-yy HH:mm:ss zzz",
+            "EEE MMM d HH:mm:ss yyyy"
+    };
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxRetryAfterMillis;
+    private final double jitter;
+    private final Set<Integer> retryableStatus;
+    private final RetryBudget budget;
+
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.baseDelayMillis = builder.baseDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.maxRetryAfterMillis = builder.maxRetryAfterMillis;
+        this.jitter = builder.jitter;
+        this.retryableStatus = new HashSet<>(builder.retryableStatus);
+        this.budget = builder.budget;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (ConnectionWarmUp.isWarmUp(request)) {
+            return chain.proceed(request);
+        }
+        Deferred deferred = request.tag(Deferred.class);
+        if (deferred != null) {
+            // As retentativas são agendadas por quem enfileirou a chamada (nextDelay)
+            if (deferred.start() && this.budget != null) {
+                this.budget.onRequest();
+            }
+            return chain.proceed(request);
+        }
+
+        if (this.budget != null) {
+            this.budget.onRequest();
+        }
+        int attempt = 0;
+        while (true) {
+            Response response = null;
+            IOException error = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                error = e;
+            }
+            attempt++;
+
+            long delay = this.delayBeforeRetry(chain.call(), attempt, response, error);
+            if (delay < 0) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+            if (response != null) {
+                response.close();
+            }
+            this.sleep(chain.call(), delay);
+        }
+    }
+
+    /**
+     * Marca a requisição para que as retentativas sejam agendadas por quem a enfileirou,
+     * a partir de nextDelay(), em vez de aguardar dentro do interceptor
+     */
+    public Request defer(Request request) {
+        return request.newBuilder()
+                .tag(Deferred.class, new Deferred())
+                .build();
+    }
+
+    /**
+     * Intervalo antes de repetir uma chamada marcada com defer(), ou -1 quando a resposta
+     * (ou a falha) deve ser entregue. Consome o orçamento da retentativa
+     */
+    public long nextDelay(Call call, Response response, IOException error) {
+        Deferred deferred = call.request().tag(Deferred.class);
+        if (deferred == null) {
+            return -1;
+        }
+        return this.delayBeforeRetry(call, deferred.nextAttempt(), response, error);
+    }
+
+    private long delayBeforeRetry(Call call, int attempt, Response response, IOException error) {
+        Request request = call.request();
+        long delay;
+        if (error != null) {
+            if (attempt > this.maxRetries || call.isCanceled() || !this.isRetryable(request, error)) {
+                return -1;
+            }
+            delay = this.backoff(attempt);
+        } else {
+            if (attempt > this.maxRetries || call.isCanceled() || !this.isRetryable(request, response)) {
+                return -1;
+            }
+            long retryAfter = retryAfterMillis(response);
+            if (retryAfter > this.maxRetryAfterMillis) {
+                return -1;
+            }
+            delay = Math.max(retryAfter, this.backoff(attempt));
+        }
+        if (this.budget != null && !this.budget.tryRetry()) {
+            return -1;
+        }
+        return delay;
+    }
+
+    /**
+     * Falhas de certificado, cancelamentos, erros de protocolo e recusas do circuit breaker
+     * não são repetidos.
+     * Em métodos não idempotentes apenas falhas anteriores ao envio
+     */
+    protected boolean isRetryable(Request request, IOException error) {
+        if (error instanceof CallRejectedException
+                || (error instanceof InterruptedIOException && !(error instanceof SocketTimeoutException))) {
+            return false;
+        }
+        if (error instanceof SSLPeerUnverifiedException
+                || (error instanceof SSLHandshakeException && error.getCause() instanceof CertificateException)
+                || error instanceof ProtocolException) {
+            return false;
+        }
+        if (isIdempotent(request)) {
+            return true;
+        }
+        return error instanceof ConnectException
+                || error instanceof UnknownHostException
+                || error instanceof NoRouteToHostException;
+    }
+
+    protected boolean isRetryable(Request request, Response response) {
+        int code = response.code();
+        if (!this.retryableStatus.contains(code)) {
+            return false;
+        }
+        return isIdempotent(request)
+                || StatusCode.MUITAS_REQUISICOES.is(code)
+                || StatusCode.SERVICO_INDISPONIVEL.is(code);
+    }
+
+    /**
+     * Intervalo antes da retentativa: base * 2^(attempt - 1), limitado a maxDelay, reduzido
+     * aleatoriamente em até "jitter" (1.0 = full jitter)
+     */
+    long backoff(int attempt) {
+        long delay = this.baseDelayMillis << Math.min(attempt - 1, 30);
+        if (delay <= 0 || delay > this.maxDelayMillis) {
+            delay = this.maxDelayMillis;
+        }
+        double random;
+        synchronized (RANDOM) {
+            random = RANDOM.nextDouble();
+        }
+        return (long) (delay * (1 - this.jitter * random));
+    }
+
+    /**
+     * Aguarda o intervalo verificando o cancelamento da chamada, que não interrompe a thread
+     */
+    private void sleep(Call call, long millis) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while ((remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) > 0) {
+            if (call.isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            try {
+                Thread.sleep(Math.min(remaining, CANCEL_CHECK_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Retentativa interrompida");
+            }
+        }
+    }
+
+    public static boolean isIdempotent(Request request) {
+        String method = request.method();
+        return "GET".equals(method)
+                || "HEAD".equals(method)
+                || "OPTIONS".equals(method)
+                || "PUT".equals(method)
+                || "DELETE".equals(method)
+                || request.header(IDEMPOTENCY_KEY) != null;
+    }
+
+    /**
+     * Retry-After em segundos ou data HTTP. Retorna 0 quando ausente ou inválido
+     */
+    static long retryAfterMillis(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return 0;
+        }
+        value = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            for (String pattern : HTTP_DATE_FORMATS) {
+                SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+                format.setTimeZone(TimeZone.getTimeZone("GMT"));
+                try {
+                    return Math.max(0, format.parse(value).getTime() - System.currentTimeMillis());
+                } catch (ParseException ignored) {
+                    // Tenta o próximo formato
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    public RetryBudget getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Tentativas de uma chamada assíncrona marcada com defer(). Os clones da chamada
+     * compartilham a mesma requisição e, portanto, o mesmo contador
+     */
+    private static final class Deferred {
+
+        private int attempt = 0;
+        private boolean started = false;
+
+        /**
+         * Retorna true apenas na primeira passagem pelo interceptor (retentativas e hedges não
+         * contam como novas requisições no orçamento)
+         */
+        private synchronized boolean start() {
+            boolean first = !this.started;
+            this.started = true;
+            return first;
+        }
+
+        private synchronized int nextAttempt() {
+            return ++this.attempt;
+        }
+    }
+
+    public static class Builder {
+
+        private int maxRetries = 3;
+        private long baseDelayMillis = 200;
+        private long maxDelayMillis = 10000;
+        private long maxRetryAfterMillis = 30000;
+        private double jitter = 1.0;
+        private final Set<Integer> retryableStatus = new HashSet<>();
+        private RetryBudget budget = new RetryBudget(0.1, 1);
+
+        public Builder() {
+            for (StatusCode status : new StatusCode[]{StatusCode.TEMPO_ESGOTADO, StatusCode.MUITAS_REQUISICOES,
+                    StatusCode.GATEWAY_INVALIDO, StatusCode.SERVICO_INDISPONIVEL,
+                    StatusCode.TEMPO_ESGOTADO_NO_GATEWAY}) {
+                this.retryableStatus.add(status.getCode());
+            }
+        }
+
+        public Builder addMaxRetries(int maxRetries) {
+            this.maxRetries = Math.max(0, maxRetries);
+            return this;
+        }
+
+        public Builder addBackoff(long baseDelay, long maxDelay, TimeUnit timeUnit) {
+            this.baseDelayMillis = Math.max(0, timeUnit.toMillis(baseDelay));
+            this.maxDelayMillis = Math.max(this.baseDelayMillis, timeUnit.toMillis(maxDelay));
+            return this;
+        }
+
+        /**
+         * Fração aleatória do intervalo que pode ser descontada, entre 0 (sem jitter) e 1 (padrão)
+         */
+        public Builder addJitter(double jitter) {
+            this.jitter = Math.min(1, Math.max(0, jitter));
+            return this;
+        }
+
+        /**
+         * Maior espera aceita de um Retry-After
+         */
+        public Builder addMaxRetryAfter(long timeout, TimeUnit timeUnit) {
+            this.maxRetryAfterMillis = timeUnit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Adiciona um status repetido em métodos idempotentes (ex: 500)
+         */
+        public Builder addRetryableStatus(StatusCode status) {
+            this.retryableStatus.add(status.getCode());
+            return this;
+        }
+
+        /**
+         * Orçamento de retentativas. Por padrão 10% das requisições, com no mínimo 1 por
+         * segundo. null remove o limite
+         */
+        public Builder addRetryBudget(RetryBudget budget) {
+            this.budget = budget;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.httpdroid.stream;
+
+import com.google.gson.JsonIOException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import br.com.httpdroid.interfaces.IConverter;
+import br.com.httpdroid.interfaces.IElementReader;
+import br.com.httpdroid.interfaces.IStreamCallback;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Iterador sobre os elementos de um array JSON lido diretamente do socket. Cada elemento é
+ * desserializado apenas quando next() é chamado, então o download avança no ritmo do consumo
+ * e a memória utilizada é constante, independente do tamanho da lista.
+ * Chamar close() antes do fim do array cancela o restante do download.
+ */
+public class JsonStream<T> implements Iterator<T>, Closeable {
+
+    private final Response response;
+    private final IElementReader<T> reader;
+    private boolean closed = false;
+
+    private JsonStream(Response response, IElementReader<T> reader) {
+        this.response = response;
+        this.reader = reader;
+    }
+
+    /**
+     * Posiciona o leitor no início do array. Em caso de falha a resposta é fechada
+     */
+    public static <T> JsonStream<T> open(Response response, IConverter converter, Type elementType)
+            throws IOException {
+        try {
+            IElementReader<T> reader = converter.newArrayReader(response.body().charStream(), elementType);
+            return new JsonStream<>(response, reader);
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.closed) {
+            return false;
+        }
+        try {
+            if (this.reader.hasNext()) {
+                return true;
+            }
+            this.close();
+            return false;
+        } catch (IOException e) {
+            this.close();
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return this.reader.next();
+        } catch (IOException e) {
+            this.close();
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Lê todos os elementos repassando-os ao callback, até o fim do array ou até o callback
+     * retornar false
+     */
+    public void forEach(IStreamCallback<T> callback) {
+        try {
+            while (this.hasNext()) {
+                if (!callback.onElement(this.next())) {
+                    break;
+                }
+            }
+        } finally {
+            this.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.response.close();
+        }
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+}
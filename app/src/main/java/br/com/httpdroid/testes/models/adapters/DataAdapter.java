@@ -0,0 +1,79 @@
+package br.com.httpdroid.testes.models.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import br.com.httpdroid.testes.models.Data;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Adapter escrito à mão para Data, sem reflexão
+ */
+public class DataAdapter extends TypeAdapter<Data> {
+
+    @Override
+    public void write(JsonWriter out, Data data) throws IOException {
+        if (data == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(data.getId());
+        out.name("title").value(data.getTitle());
+        out.name("description").value(data.getDescription());
+        out.name("size").value(data.getSize());
+        out.name("link").value(data.getLink());
+        out.name("success").value(data.isSuccess());
+        out.name("status").value(data.getStatus());
+        out.endObject();
+    }
+
+    @Override
+    public Data read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Data data = new Data();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    data.setId(in.nextString());
+                    break;
+                case "title":
+                    data.setTitle(in.nextString());
+                    break;
+                case "description":
+                    data.setDescription(in.nextString());
+                    break;
+                case "size":
+                    data.setSize(in.nextInt());
+                    break;
+                case "link":
+                    data.setLink(in.nextString());
+                    break;
+                case "success":
+                    data.setSuccess(in.nextBoolean());
+                    break;
+                case "status":
+                    data.setStatus(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return data;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.httpdroid.testes.models.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import br.com.httpdroid.testes.models.Data;
+import br.com.httpdroid.testes.models.Imagem;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Adapter escrito à mão para Imagem. O campo data utiliza o adapter registrado para Data
+ */
+public class ImagemAdapter extends TypeAdapter<Imagem> {
+
+    private final TypeAdapter<Data> dataAdapter;
+
+    public ImagemAdapter(TypeAdapter<Data> dataAdapter) {
+        this.dataAdapter = dataAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Imagem imagem) throws IOException {
+        if (imagem == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("data");
+        this.dataAdapter.write(out, imagem.getData());
+        out.endObject();
+    }
+
+    @Override
+    public Imagem read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Imagem imagem = new Imagem();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (name.equals("data")) {
+                imagem.setData(this.dataAdapter.read(in));
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return imagem;
+    }
+}
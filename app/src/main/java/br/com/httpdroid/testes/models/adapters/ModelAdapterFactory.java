@@ -0,0 +1,51 @@
+package br.com.httpdroid.testes.models.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.Date;
+
+import br.com.httpdroid.testes.models.Data;
+import br.com.httpdroid.testes.models.Imagem;
+import br.com.httpdroid.testes.models.Post;
+import br.com.httpdroid.testes.models.Usuario;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Registra os adapters pré-compilados dos modelos. Ex:
+ * new HttpService<Post>().addGsonConverter(new GsonBuilder()
+ *         .registerTypeAdapterFactory(new ModelAdapterFactory())
+ *         .create())
+ * Listas (List<Post>) também passam a utilizar estes adapters para cada elemento.
+ */
+public class ModelAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (rawType == Post.class) {
+            adapter = new PostAdapter();
+        } else if (rawType == Data.class) {
+            adapter = new DataAdapter();
+        } else if (rawType == Imagem.class) {
+            adapter = new ImagemAdapter(gson.getAdapter(Data.class));
+        } else if (rawType == Usuario.class) {
+            adapter = new UsuarioAdapter(gson.getAdapter(Date.class));
+        } else {
+            return null;
+        }
+        return typed(adapter);
+    }
+
+    /**
+     * Cada adapter acima foi escolhido pela classe de T
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> TypeAdapter<T> typed(TypeAdapter<?> adapter) {
+        return (TypeAdapter<T>) adapter;
+    }
+}
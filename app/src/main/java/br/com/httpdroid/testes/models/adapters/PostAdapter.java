@@ -0,0 +1,67 @@
+package br.com.httpdroid.testes.models.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import br.com.httpdroid.testes.models.Post;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Adapter escrito à mão para Post, sem reflexão. Produz o mesmo JSON do adapter reflexivo do Gson
+ */
+public class PostAdapter extends TypeAdapter<Post> {
+
+    @Override
+    public void write(JsonWriter out, Post post) throws IOException {
+        if (post == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("userId").value(post.getUserId());
+        out.name("id").value(post.getId());
+        out.name("title").value(post.getTitle());
+        out.name("body").value(post.getBody());
+        out.endObject();
+    }
+
+    @Override
+    public Post read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Post post = new Post();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "userId":
+                    post.setUserId(in.nextInt());
+                    break;
+                case "id":
+                    post.setId(in.nextInt());
+                    break;
+                case "title":
+                    post.setTitle(in.nextString());
+                    break;
+                case "body":
+                    post.setBody(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return post;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.httpdroid.testes.models.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
+
+import br.com.httpdroid.testes.models.Usuario;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Adapter escrito à mão para Usuario. As datas utilizam o adapter de Date configurado no Gson,
+ * mantendo o mesmo formato do adapter reflexivo
+ */
+public class UsuarioAdapter extends TypeAdapter<Usuario> {
+
+    private final TypeAdapter<Date> dateAdapter;
+
+    public UsuarioAdapter(TypeAdapter<Date> dateAdapter) {
+        this.dateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Usuario usuario) throws IOException {
+        if (usuario == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(usuario.getId());
+        out.name("job").value(usuario.getJob());
+        out.name("name").value(usuario.getName());
+        out.name("createdAt");
+        this.dateAdapter.write(out, usuario.getCreatedAt());
+        out.name("updatedAt");
+        this.dateAdapter.write(out, usuario.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public Usuario read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Usuario usuario = new Usuario();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    usuario.setId(in.nextInt());
+                    break;
+                case "job":
+                    usuario.setJob(in.nextString());
+                    break;
+                case "name":
+                    usuario.setName(in.nextString());
+                    break;
+                case "createdAt":
+                    usuario.setCreatedAt(this.dateAdapter.read(in));
+                    break;
+                case "updatedAt":
+                    usuario.setUpdatedAt(this.dateAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return usuario;
+    }
+}
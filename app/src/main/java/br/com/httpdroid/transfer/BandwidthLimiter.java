@@ -0,0 +1,50 @@
+package br.com.httpdroid.transfer;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Limite de banda compartilhado entre transferências. Cada bloco enviado ou recebido reserva
+ * a sua fatia de tempo em um relógio comum, então várias transferências simultâneas dividem o
+ * mesmo orçamento de bytes por segundo, na ordem em que pedem.
+ */
+public class BandwidthLimiter {
+
+    private final long bytesPerSecond;
+    private long nextFreeNanos = 0;
+
+    public BandwidthLimiter(long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("bytesPerSecond deve ser maior que zero");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Bloqueia a thread até que os bytes possam ser transferidos sem exceder o limite
+     */
+    public void acquire(long bytes) throws InterruptedIOException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, this.nextFreeNanos);
+            this.nextFreeNanos = start + bytes * TimeUnit.SECONDS.toNanos(1) / this.bytesPerSecond;
+            waitNanos = start - now;
+        }
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Transferência interrompida");
+        }
+    }
+
+    public long getBytesPerSecond() {
+        return this.bytesPerSecond;
+    }
+}
@@ -0,0 +1,598 @@
+package br.com.httpdroid.transfer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.interfaces.IHttpCallback;
+import br.com.httpdroid.interfaces.IProgressListener;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Sink;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Download em streaming do corpo da resposta para um arquivo ou Sink, em blocos de 8KB,
+ * sem passar o conteúdo por uma String. Para arquivos:
+ *
+ * - O conteúdo é gravado em "arquivo.part" e renomeado apenas ao final. Se o download for
+ *   interrompido, a próxima execução continua de onde parou com Range e If-Range, desde que o
+ *   servidor tenha informado ETag ou Last-Modified.
+ * - Com addParallelSegments() arquivos grandes são baixados em vários trechos simultâneos,
+ *   quando o servidor aceita Range (Accept-Ranges: bytes). Um trecho que falha é retomado
+ *   do ponto em que parou, sem afetar os demais.
+ * - Com addChecksum() o arquivo é verificado antes de ser renomeado.
+ *
+ * Todas as requisições enviam Accept-Encoding: identity. Com gzip transparente o arquivo parcial
+ * guardaria bytes decodificados, enquanto o Range e o Content-Length se referem à representação
+ * codificada, e a retomada gravaria os bytes na posição errada.
+ */
+public class FileDownload {
+
+    private static final int SEGMENT_SIZE = 8192;
+    private static final long DEFAULT_MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    private final OkHttpClient client;
+    private final Request request;
+    private final File target;
+    private final Executor executor;
+
+    private IProgressListener listener;
+    private BandwidthLimiter limiter;
+    private boolean resumeEnabled = true;
+    private int segments = 1;
+    private long minSegmentSize = DEFAULT_MIN_SEGMENT_SIZE;
+    private int maxRetries = 3;
+    private String checksumAlgorithm;
+    private String expectedChecksum;
+
+    private final List<Call> calls = new ArrayList<>();
+    private volatile boolean cancelled = false;
+
+    /**
+     * Criado por HttpService.newDownload()
+     *
+     * @param request GET do arquivo, já com os headers do serviço
+     * @param target  pode ser null quando o download é feito para um Sink
+     */
+    public FileDownload(OkHttpClient client, Request request, File target, Executor executor) {
+        this.client = client;
+        this.request = request.newBuilder()
+                .header("Accept-Encoding", "identity")
+                .build();
+        this.target = target;
+        this.executor = executor;
+    }
+
+    public FileDownload addProgressListener(IProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public FileDownload addBandwidthLimiter(BandwidthLimiter limiter) {
+        this.limiter = limiter;
+        return this;
+    }
+
+    public FileDownload isResumeEnabled(boolean enabled) {
+        this.resumeEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Divide arquivos maiores que (segments * minSegmentSize) em trechos baixados em paralelo
+     */
+    public FileDownload addParallelSegments(int segments, long minSegmentSize) {
+        this.segments = Math.max(1, segments);
+        this.minSegmentSize = Math.max(1, minSegmentSize);
+        return this;
+    }
+
+    /**
+     * Quantas vezes seguidas um trecho pode falhar antes de desistir do download
+     */
+    public FileDownload addMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+        return this;
+    }
+
+    /**
+     * Verifica o conteúdo ao final do download. Ex: addChecksum("SHA-256", "9f86d0...")
+     */
+    public FileDownload addChecksum(String algorithm, String expectedHex) {
+        this.checksumAlgorithm = algorithm;
+        this.expectedChecksum = expectedHex;
+        return this;
+    }
+
+    /**
+     * Baixa o arquivo bloqueando a thread atual, e retorna o arquivo final
+     */
+    public File execute() throws IOException {
+        File part = new File(this.target.getPath() + ".part");
+        File validatorFile = new File(this.target.getPath() + ".part.validator");
+
+        if (this.segments > 1 && this.downloadSegmented(part)) {
+            return this.finish(part, validatorFile);
+        }
+        this.downloadSequential(part, validatorFile);
+        return this.finish(part, validatorFile);
+    }
+
+    /**
+     * Baixa o corpo da resposta para o Sink informado, sem retomada nem trechos paralelos.
+     * O Sink não é fechado. Retorna a quantidade de bytes gravados
+     */
+    public long execute(Sink sink) throws IOException {
+        Response response = this.send(this.request);
+        try {
+            this.checkSuccessful(response);
+            ResponseBody body = response.body();
+            MessageDigest digest = this.newDigest();
+            TransferProgress progress = new TransferProgress(this.listener, body.contentLength());
+            long written = this.copy(body.source(), sink, digest, progress);
+            progress.complete();
+            if (digest != null) {
+                this.verify(digest);
+            }
+            return written;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Baixa o arquivo no executor de transferências. Cancelar o futuro interrompe o download,
+     * mantendo o arquivo parcial para uma retomada posterior
+     */
+    public HttpFuture<File> executeAsync() {
+        final HttpFuture<File> future = new HttpFuture<>();
+        future.addCallback(new IHttpCallback<File>() {
+            @Override
+            public void onSuccess(File result) {
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                if (error instanceof CancellationException) {
+                    cancel();
+                }
+            }
+        });
+        try {
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        future.complete(execute());
+                    } catch (Throwable e) {
+                        future.fail(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    public void cancel() {
+        List<Call> pending;
+        synchronized (this.calls) {
+            this.cancelled = true;
+            pending = new ArrayList<>(this.calls);
+        }
+        for (Call call : pending) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Download em uma única requisição, continuando o arquivo parcial quando possível.
+     * Se o servidor responder 200 em vez de 206 (arquivo alterado ou Range não suportado)
+     * o download recomeça do zero
+     */
+    private void downloadSequential(File part, File validatorFile) throws IOException {
+        int failures = 0;
+        while (true) {
+            long offset = 0;
+            String validator = this.resumeEnabled ? readValidator(validatorFile) : null;
+            Request.Builder requestBuilder = this.request.newBuilder();
+            if (validator != null && part.length() > 0) {
+                offset = part.length();
+                requestBuilder.header("Range", "bytes=" + offset + "-")
+                        .header("If-Range", validator);
+            }
+
+            Response response;
+            try {
+                response = this.send(requestBuilder.build());
+            } catch (IOException e) {
+                this.awaitRetry(++failures, e);
+                continue;
+            }
+            try {
+                if (response.code() == 416) {
+                    // O trecho pedido não existe mais: descarta o parcial e recomeça
+                    deleteFile(part);
+                    deleteFile(validatorFile);
+                    continue;
+                }
+                this.checkSuccessful(response);
+                boolean append = response.code() == 206;
+                if (!append) {
+                    offset = 0;
+                }
+                writeValidator(validatorFile, validatorOf(response));
+
+                ResponseBody body = response.body();
+                long length = body.contentLength();
+                TransferProgress progress = new TransferProgress(this.listener, length < 0 ? -1 : offset + length);
+                progress.set(offset);
+                BufferedSink sink = Okio.buffer(append ? Okio.appendingSink(part) : Okio.sink(part));
+                try {
+                    this.copy(body.source(), sink, null, progress);
+                } finally {
+                    sink.close();
+                }
+                progress.complete();
+                return;
+            } catch (IOException e) {
+                this.awaitRetry(++failures, e);
+            } finally {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Descobre o tamanho com HEAD e baixa os trechos em paralelo. Retorna false quando o HEAD
+     * falha, o servidor não aceita Range ou o arquivo é pequeno demais, para seguir com o
+     * download simples
+     */
+    private boolean downloadSegmented(File part) throws IOException {
+        Response head;
+        try {
+            head = this.send(this.request.newBuilder().head().build());
+        } catch (IOException e) {
+            if (this.cancelled) {
+                throw e;
+            }
+            // O download simples repete a requisição com as mesmas regras de retentativa
+            return false;
+        }
+        long length;
+        String validator;
+        try {
+            if (!head.isSuccessful() || !"bytes".equalsIgnoreCase(head.header("Accept-Ranges"))) {
+                return false;
+            }
+            length = parseLength(head.header("Content-Length"));
+            validator = validatorOf(head);
+        } finally {
+            head.close();
+        }
+        if (length < this.segments * this.minSegmentSize) {
+            return false;
+        }
+
+        RandomAccessFile file = new RandomAccessFile(part, "rw");
+        try {
+            file.setLength(length);
+        } finally {
+            file.close();
+        }
+
+        TransferProgress progress = new TransferProgress(this.listener, length);
+        long segmentSize = (length + this.segments - 1) / this.segments;
+        List<HttpFuture<Void>> futures = new ArrayList<>();
+        for (long start = 0; start < length; start += segmentSize) {
+            futures.add(this.startSegment(part, start, Math.min(start + segmentSize, length) - 1, validator, progress));
+        }
+        try {
+            for (HttpFuture<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.cancel();
+            throw new InterruptedIOException("Download interrompido");
+        } catch (ExecutionException e) {
+            this.cancel();
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+        progress.complete();
+        return true;
+    }
+
+    private HttpFuture<Void> startSegment(final File part, final long start, final long end,
+                                          final String validator, final TransferProgress progress) {
+        final HttpFuture<Void> future = new HttpFuture<>();
+        try {
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        downloadSegment(part, start, end, validator, progress);
+                        future.complete(null);
+                    } catch (Throwable e) {
+                        future.fail(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    /**
+     * Baixa o trecho [start, end] gravando na mesma posição do arquivo. Após uma falha o trecho
+     * continua a partir do último byte gravado
+     */
+    private void downloadSegment(File part, long start, long end, String validator, TransferProgress progress)
+            throws IOException {
+        long position = start;
+        int failures = 0;
+        RandomAccessFile file = new RandomAccessFile(part, "rw");
+        try {
+            while (position <= end) {
+                Request.Builder requestBuilder = this.request.newBuilder()
+                        .header("Range", "bytes=" + position + "-" + end);
+                if (validator != null) {
+                    requestBuilder.header("If-Range", validator);
+                }
+                try {
+                    Response response = this.send(requestBuilder.build());
+                    try {
+                        if (response.code() != 206) {
+                            throw new NonRecoverableException("O arquivo foi alterado durante o download: status "
+                                    + response.code());
+                        }
+                        InputStream input = response.body().byteStream();
+                        byte[] buffer = new byte[SEGMENT_SIZE];
+                        file.seek(position);
+                        int read;
+                        while (position <= end && (read = input.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1))) != -1) {
+                            if (this.limiter != null) {
+                                this.limiter.acquire(read);
+                            }
+                            file.write(buffer, 0, read);
+                            position += read;
+                            progress.add(read);
+                        }
+                        if (position <= end) {
+                            // Conta como falha para que um servidor que sempre corta o trecho
+                            // não gere requisições sem fim
+                            throw new IOException("O trecho terminou " + (end - position + 1) + " bytes antes do esperado");
+                        }
+                    } finally {
+                        response.close();
+                    }
+                } catch (IOException e) {
+                    this.awaitRetry(++failures, e);
+                }
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    private long copy(BufferedSource source, Sink sink, MessageDigest digest, TransferProgress progress)
+            throws IOException {
+        Buffer buffer = new Buffer();
+        byte[] bytes = new byte[SEGMENT_SIZE];
+        long total = 0;
+        int read;
+        while ((read = source.read(bytes)) != -1) {
+            if (this.cancelled) {
+                throw new IOException("Download cancelado");
+            }
+            if (this.limiter != null) {
+                this.limiter.acquire(read);
+            }
+            if (digest != null) {
+                digest.update(bytes, 0, read);
+            }
+            buffer.write(bytes, 0, read);
+            sink.write(buffer, read);
+            total += read;
+            progress.add(read);
+        }
+        sink.flush();
+        return total;
+    }
+
+    /**
+     * Verifica o checksum e move o arquivo parcial para o destino final
+     */
+    private File finish(File part, File validatorFile) throws IOException {
+        MessageDigest digest = this.newDigest();
+        if (digest != null) {
+            InputStream input = new FileInputStream(part);
+            try {
+                byte[] buffer = new byte[SEGMENT_SIZE];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } finally {
+                input.close();
+            }
+            try {
+                this.verify(digest);
+            } catch (IOException e) {
+                deleteFile(part);
+                deleteFile(validatorFile);
+                throw e;
+            }
+        }
+        deleteFile(this.target);
+        if (!part.renameTo(this.target)) {
+            throw new IOException("Não foi possível mover o download para " + this.target);
+        }
+        deleteFile(validatorFile);
+        return this.target;
+    }
+
+    private MessageDigest newDigest() throws IOException {
+        if (this.checksumAlgorithm == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(this.checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Algoritmo de checksum não suportado: " + this.checksumAlgorithm, e);
+        }
+    }
+
+    private void verify(MessageDigest digest) throws IOException {
+        String actual = toHex(digest.digest());
+        if (!actual.equalsIgnoreCase(this.expectedChecksum)) {
+            throw new IOException("Checksum inválido: esperado " + this.expectedChecksum + ", recebido " + actual);
+        }
+    }
+
+    private Response send(Request request) throws IOException {
+        Call call = this.client.newCall(request);
+        synchronized (this.calls) {
+            if (this.cancelled) {
+                throw new IOException("Download cancelado");
+            }
+            this.calls.add(call);
+        }
+        try {
+            return call.execute();
+        } finally {
+            synchronized (this.calls) {
+                this.calls.remove(call);
+            }
+        }
+    }
+
+    /**
+     * Erros de status 4xx não são repetidos, os demais (conexão, 5xx) sim
+     */
+    private void checkSuccessful(Response response) throws IOException {
+        int code = response.code();
+        if (response.isSuccessful()) {
+            return;
+        }
+        if (code >= 500 || code == 408 || code == 429) {
+            throw new IOException("Falha no download: status " + code);
+        }
+        throw new NonRecoverableException("Falha no download: status " + code);
+    }
+
+    private void awaitRetry(int failures, IOException error) throws IOException {
+        if (this.cancelled || failures > this.maxRetries || error instanceof NonRecoverableException) {
+            throw error;
+        }
+        try {
+            Thread.sleep(500L << (failures - 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrompido");
+        }
+    }
+
+    private static String validatorOf(Response response) {
+        String etag = response.header("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return response.header("Last-Modified");
+    }
+
+    private static String readValidator(File validatorFile) throws IOException {
+        if (!validatorFile.exists()) {
+            return null;
+        }
+        BufferedSource source = Okio.buffer(Okio.source(validatorFile));
+        try {
+            String validator = source.readUtf8().trim();
+            return validator.isEmpty() ? null : validator;
+        } finally {
+            source.close();
+        }
+    }
+
+    private static void writeValidator(File validatorFile, String validator) throws IOException {
+        if (validator == null) {
+            deleteFile(validatorFile);
+            return;
+        }
+        BufferedSink sink = Okio.buffer(Okio.sink(validatorFile));
+        try {
+            sink.writeUtf8(validator);
+        } finally {
+            sink.close();
+        }
+    }
+
+    private static long parseLength(String contentLength) {
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Falhas que não devem ser repetidas (ex: 404)
+     */
+    private static class NonRecoverableException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private NonRecoverableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public File getTarget() {
+        return this.target;
+    }
+}
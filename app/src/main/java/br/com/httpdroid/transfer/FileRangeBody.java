@@ -0,0 +1,92 @@
+package br.com.httpdroid.transfer;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Corpo de requisição com um trecho de um arquivo, lido diretamente do disco para o socket
+ * em blocos de 8KB. Nada além do bloco atual fica em memória, independente do tamanho do trecho.
+ */
+public class FileRangeBody extends RequestBody {
+
+    private static final int SEGMENT_SIZE = 8192;
+
+    private final MediaType contentType;
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final BandwidthLimiter limiter;
+    private final TransferProgress progress;
+
+    /**
+     * @param limiter  pode ser null
+     * @param progress pode ser null
+     */
+    public FileRangeBody(MediaType contentType, File file, long offset, long length,
+                         BandwidthLimiter limiter, TransferProgress progress) {
+        this.contentType = contentType;
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.limiter = limiter;
+        this.progress = progress;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return this.length;
+    }
+
+    /**
+     * Pode ser chamado mais de uma vez caso o OkHttp repita a requisição,
+     * por isso o arquivo é aberto e posicionado a cada escrita
+     */
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        FileInputStream input = new FileInputStream(this.file);
+        Source source = null;
+        try {
+            input.getChannel().position(this.offset);
+            source = Okio.source(input);
+            if (this.progress != null) {
+                this.progress.set(this.offset);
+            }
+            long remaining = this.length;
+            while (remaining > 0) {
+                long read = source.read(sink.buffer(), Math.min(SEGMENT_SIZE, remaining));
+                if (read == -1) {
+                    throw new EOFException("O arquivo terminou antes do esperado: " + this.file);
+                }
+                if (this.limiter != null) {
+                    this.limiter.acquire(read);
+                }
+                sink.emitCompleteSegments();
+                remaining -= read;
+                if (this.progress != null) {
+                    this.progress.add(read);
+                }
+            }
+        } finally {
+            if (source != null) {
+                source.close();
+            } else {
+                input.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package br.com.httpdroid.transfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.interfaces.IHttpCallback;
+import br.com.httpdroid.interfaces.IProgressListener;
+import br.com.httpdroid.interfaces.ITransformer;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Upload de arquivo em blocos, retomável, no protocolo baseado em Content-Range
+ * (o mesmo do upload resumable do Google):
+ *
+ * 1. POST no endpoint com X-Upload-Content-Length, X-Upload-Content-Type e X-Upload-File-Name.
+ *    O servidor responde com a URL da sessão no header Location.
+ * 2. Cada bloco é enviado com PUT na sessão e Content-Range: bytes inicio-fim/total.
+ *    O servidor responde 308 com Range: bytes=0-N enquanto o arquivo não está completo,
+ *    e 200/201 com o objeto criado após o último bloco.
+ * 3. Após uma falha, um PUT vazio com Content-Range: bytes (asterisco)/total consulta quanto o
+ *    servidor já recebeu, e apenas o restante do bloco é reenviado.
+ *
+ * Os blocos são lidos do disco em streaming, sem carregar o arquivo em memória.
+ * A URL da sessão (getSessionUrl()) pode ser guardada para retomar o upload depois,
+ * inclusive em outra execução do aplicativo, com addSessionUrl().
+ */
+public class ResumableUpload<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final int RESUME_INCOMPLETE = 308;
+
+    private final OkHttpClient client;
+    private final Request sessionRequest;
+    private final File file;
+    private final MediaType mediaType;
+    private final ITransformer<Response, HttpResult<T>> resultReader;
+    private final Executor executor;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxRetries = 3;
+    private long retryDelayMillis = 1000;
+    private BandwidthLimiter limiter;
+    private IProgressListener listener;
+
+    private volatile HttpUrl sessionUrl;
+    private volatile Call currentCall;
+    private volatile boolean cancelled = false;
+    private volatile long uploadedBytes = 0;
+
+    /**
+     * Criado por HttpService.newResumableUpload()
+     *
+     * @param sessionRequest requisição que inicia a sessão, já com os headers do serviço
+     * @param resultReader   desserializa a resposta do último bloco
+     */
+    public ResumableUpload(OkHttpClient client, Request sessionRequest, File file, MediaType mediaType,
+                           ITransformer<Response, HttpResult<T>> resultReader, Executor executor) {
+        this.client = client;
+        this.sessionRequest = sessionRequest;
+        this.file = file;
+        this.mediaType = mediaType;
+        this.resultReader = resultReader;
+        this.executor = executor;
+    }
+
+    /**
+     * Tamanho de cada bloco em bytes. Blocos menores reenviam menos dados após uma falha,
+     * blocos maiores fazem menos requisições
+     */
+    public ResumableUpload<T> addChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+        return this;
+    }
+
+    /**
+     * Quantas vezes seguidas um mesmo bloco pode falhar antes de desistir do upload.
+     * O intervalo entre as tentativas dobra a cada falha
+     */
+    public ResumableUpload<T> addMaxRetries(int maxRetries, long retryDelayMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryDelayMillis = Math.max(0, retryDelayMillis);
+        return this;
+    }
+
+    public ResumableUpload<T> addBandwidthLimiter(BandwidthLimiter limiter) {
+        this.limiter = limiter;
+        return this;
+    }
+
+    public ResumableUpload<T> addProgressListener(IProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Retoma uma sessão iniciada anteriormente
+     */
+    public ResumableUpload<T> addSessionUrl(String sessionUrl) {
+        this.sessionUrl = HttpUrl.get(sessionUrl);
+        return this;
+    }
+
+    /**
+     * Envia o arquivo bloqueando a thread atual até o fim do upload
+     */
+    public HttpResult<T> execute() throws IOException {
+        long total = this.file.length();
+        TransferProgress progress = new TransferProgress(this.listener, total);
+
+        // Uma sessão informada pode já ter recebido parte do arquivo: consulta antes de enviar
+        long offset = -1;
+        long lastConfirmed = -1;
+        if (this.sessionUrl == null) {
+            this.sessionUrl = this.startSession(total);
+            offset = 0;
+            lastConfirmed = 0;
+        }
+
+        int failures = 0;
+        while (true) {
+            this.checkCancelled();
+            Request request = offset < 0 || total == 0
+                    ? this.newStatusRequest(total)
+                    : this.newChunkRequest(offset, Math.min(this.chunkSize, total - offset), total, progress);
+
+            Response response;
+            try {
+                response = this.send(request);
+            } catch (IOException e) {
+                this.awaitRetry(++failures, e);
+                offset = -1;
+                continue;
+            }
+
+            int code = response.code();
+            if (code == 200 || code == 201) {
+                this.uploadedBytes = total;
+                progress.set(total);
+                progress.complete();
+                return this.readResult(response);
+            }
+            if (code == RESUME_INCOMPLETE) {
+                long confirmed = this.confirmedOffset(response);
+                response.close();
+                if (confirmed > lastConfirmed) {
+                    lastConfirmed = confirmed;
+                    failures = 0;
+                } else if (offset >= 0) {
+                    // O bloco foi enviado mas o servidor não confirmou nenhum byte novo
+                    this.awaitRetry(++failures, new IOException("O servidor não confirmou o bloco de "
+                            + this.file.getName() + " a partir do byte " + confirmed));
+                }
+                offset = confirmed;
+                this.uploadedBytes = confirmed;
+                progress.set(confirmed);
+                continue;
+            }
+            response.close();
+            IOException error = new IOException("Falha no upload de " + this.file.getName() + ": status " + code);
+            if (code != 408 && code != 429 && code < 500) {
+                throw error;
+            }
+            this.awaitRetry(++failures, error);
+            offset = -1;
+        }
+    }
+
+    /**
+     * Envia o arquivo no executor de transferências. Cancelar o futuro interrompe o upload,
+     * mantendo a sessão para uma retomada posterior
+     */
+    public HttpFuture<HttpResult<T>> executeAsync() {
+        final HttpFuture<HttpResult<T>> future = new HttpFuture<>();
+        future.addCallback(new IHttpCallback<HttpResult<T>>() {
+            @Override
+            public void onSuccess(HttpResult<T> result) {
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                if (error instanceof CancellationException) {
+                    cancel();
+                }
+            }
+        });
+        try {
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        future.complete(execute());
+                    } catch (Throwable e) {
+                        future.fail(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+        Call call = this.currentCall;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    private HttpUrl startSession(long total) throws IOException {
+        Request request = this.sessionRequest.newBuilder()
+                .header("X-Upload-Content-Length", String.valueOf(total))
+                .header("X-Upload-Content-Type", String.valueOf(this.mediaType))
+                .header("X-Upload-File-Name", this.file.getName())
+                .post(RequestBody.create(null, new byte[0]))
+                .build();
+        Response response = this.send(request);
+        try {
+            String location = response.header("Location");
+            if (!response.isSuccessful() || location == null) {
+                throw new IOException("O servidor não iniciou a sessão de upload: status " + response.code());
+            }
+            HttpUrl url = request.url().resolve(location);
+            if (url == null) {
+                throw new IOException("URL da sessão de upload inválida: " + location);
+            }
+            return url;
+        } finally {
+            response.close();
+        }
+    }
+
+    private Request newChunkRequest(long offset, long length, long total, TransferProgress progress) {
+        RequestBody body = new FileRangeBody(this.mediaType, this.file, offset, length, this.limiter, progress);
+        return this.newSessionRequestBuilder()
+                .header("Content-Range", "bytes " + offset + "-" + (offset + length - 1) + "/" + total)
+                .put(body)
+                .build();
+    }
+
+    private Request newStatusRequest(long total) {
+        return this.newSessionRequestBuilder()
+                .header("Content-Range", "bytes */" + total)
+                .put(RequestBody.create(null, new byte[0]))
+                .build();
+    }
+
+    /**
+     * As requisições da sessão levam os mesmos headers do serviço (ex: Authorization)
+     */
+    private Request.Builder newSessionRequestBuilder() {
+        return this.sessionRequest.newBuilder()
+                .url(this.sessionUrl);
+    }
+
+    private Response send(Request request) throws IOException {
+        Call call = this.client.newCall(request);
+        this.currentCall = call;
+        if (this.cancelled) {
+            call.cancel();
+        }
+        return call.execute();
+    }
+
+    /**
+     * Range: bytes=0-N indica que o servidor possui os bytes até N. Sem o header nada foi recebido
+     */
+    private long confirmedOffset(Response response) throws IOException {
+        String range = response.header("Range");
+        if (range == null) {
+            return 0;
+        }
+        int dash = range.lastIndexOf('-');
+        try {
+            return Long.parseLong(range.substring(dash + 1).trim()) + 1;
+        } catch (NumberFormatException e) {
+            throw new IOException("Header Range inválido: " + range);
+        }
+    }
+
+    private void awaitRetry(int failures, IOException error) throws IOException {
+        this.checkCancelled();
+        if (failures > this.maxRetries) {
+            throw error;
+        }
+        try {
+            Thread.sleep(this.retryDelayMillis << (failures - 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload interrompido");
+        }
+    }
+
+    private void checkCancelled() throws IOException {
+        if (this.cancelled) {
+            throw new IOException("Upload cancelado");
+        }
+    }
+
+    private HttpResult<T> readResult(Response response) throws IOException {
+        try {
+            return this.resultReader.apply(response);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Get Properties
+     */
+    public HttpUrl getSessionUrl() {
+        return this.sessionUrl;
+    }
+
+    /**
+     * Bytes confirmados pelo servidor
+     */
+    public long getUploadedBytes() {
+        return this.uploadedBytes;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.httpdroid.transfer;
+
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.interfaces.IProgressListener;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Contabiliza os bytes de uma transferência e calcula a taxa média. O listener é chamado
+ * no máximo a cada 100ms, para não sobrecarregar a thread de rede nem a interface.
+ * Pode ser atualizado por várias threads (ex: download em segmentos paralelos).
+ */
+public class TransferProgress {
+
+    private static final long NOTIFY_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final IProgressListener listener;
+    private final long totalBytes;
+
+    private long bytesTransferred = 0;
+    private long startBytes = -1;
+    private long startNanos;
+    private long lastNotifyNanos;
+
+    public TransferProgress(IProgressListener listener, long totalBytes) {
+        this.listener = listener;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Define a posição atual. Utilizado ao retomar e ao repetir um bloco que falhou
+     */
+    public void set(long bytes) {
+        synchronized (this) {
+            this.start();
+            this.bytesTransferred = bytes;
+        }
+        this.notifyListener(false);
+    }
+
+    public void add(long bytes) {
+        synchronized (this) {
+            this.start();
+            this.bytesTransferred += bytes;
+        }
+        this.notifyListener(false);
+    }
+
+    public void complete() {
+        this.notifyListener(true);
+    }
+
+    private void start() {
+        if (this.startBytes < 0) {
+            this.startBytes = this.bytesTransferred;
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    private void notifyListener(boolean force) {
+        if (this.listener == null) {
+            return;
+        }
+        long transferred;
+        long bytesPerSecond;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!force && now - this.lastNotifyNanos < NOTIFY_INTERVAL_NANOS) {
+                return;
+            }
+            this.lastNotifyNanos = now;
+            transferred = this.bytesTransferred;
+            bytesPerSecond = this.getBytesPerSecond();
+        }
+        this.listener.onProgress(transferred, this.totalBytes, bytesPerSecond);
+    }
+
+    /**
+     * Get Properties
+     */
+    public synchronized long getBytesTransferred() {
+        return this.bytesTransferred;
+    }
+
+    public long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    public synchronized long getBytesPerSecond() {
+        if (this.startBytes < 0) {
+            return 0;
+        }
+        long elapsedNanos = System.nanoTime() - this.startNanos;
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (this.bytesTransferred - this.startBytes) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.httpdroid.url;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Endpoint pré-compilado, com suporte a parâmetros de caminho. Ex: "posts/{id}/comments".
+ * O texto é analisado uma única vez e cada requisição apenas adiciona os segmentos ao
+ * HttpUrl.Builder da URL base, sem concatenar nem analisar Strings novamente.
+ * Segmentos fixos devem estar codificados; os valores dos parâmetros são codificados
+ * automaticamente. Um parâmetro deve ocupar o segmento inteiro.
+ */
+public final class UrlTemplate {
+
+    private static final UrlTemplate EMPTY = new UrlTemplate(Collections.<String>emptyList(),
+            Collections.<String>emptyList(), null);
+
+    /**
+     * Segmentos do caminho. Para parâmetros, o nome do parâmetro
+     */
+    private final List<String> segments;
+
+    /**
+     * Nome do parâmetro de cada segmento, ou null para segmentos fixos
+     */
+    private final List<String> parameters;
+
+    private final String encodedQuery;
+
+    private UrlTemplate(List<String> segments, List<String> parameters, String encodedQuery) {
+        this.segments = segments;
+        this.parameters = parameters;
+        this.encodedQuery = encodedQuery;
+    }
+
+    public static UrlTemplate compile(String template) {
+        if (template == null || template.isEmpty()) {
+            return EMPTY;
+        }
+        String path = template;
+        String encodedQuery = null;
+        int queryStart = template.indexOf('?');
+        if (queryStart != -1) {
+            path = template.substring(0, queryStart);
+            encodedQuery = template.substring(queryStart + 1);
+        }
+
+        List<String> segments = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        for (String segment : path.split("/", -1)) {
+            if (segment.isEmpty() && segments.isEmpty()) {
+                continue;
+            }
+            if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                segments.add(name);
+                parameters.add(name);
+            } else {
+                segments.add(segment);
+                parameters.add(null);
+            }
+        }
+        return new UrlTemplate(segments, parameters, encodedQuery);
+    }
+
+    public boolean hasParameter(String name) {
+        return this.parameters.contains(name);
+    }
+
+    /**
+     * Adiciona os segmentos do template à URL base
+     *
+     * @throws IllegalArgumentException quando algum parâmetro do template não for informado
+     */
+    public HttpUrl.Builder expand(HttpUrl baseUrl, Map<String, ?> pathParams) {
+        HttpUrl.Builder builder = baseUrl.newBuilder();
+        for (int i = 0; i < this.segments.size(); i++) {
+            String parameter = this.parameters.get(i);
+            if (parameter == null) {
+                builder.addEncodedPathSegment(this.segments.get(i));
+                continue;
+            }
+            Object value = pathParams != null ? pathParams.get(parameter) : null;
+            if (value == null) {
+                throw new IllegalArgumentException("Parâmetro de caminho não informado: " + parameter);
+            }
+            builder.addPathSegment(String.valueOf(value));
+        }
+        if (this.encodedQuery != null) {
+            builder.encodedQuery(this.encodedQuery);
+        }
+        return builder;
+    }
+}
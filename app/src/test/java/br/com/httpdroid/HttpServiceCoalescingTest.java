@@ -0,0 +1,134 @@
+package br.com.httpdroid;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Garante que requisições GET idênticas em andamento são agrupadas em uma única
+ * requisição e que cancelar uma das chamadas não afeta as demais.
+ */
+public class HttpServiceCoalescingTest {
+
+    private static final int CALLS = 8;
+
+    private MockWebServer server;
+    private CountDownLatch release;
+    private HttpService<Post> http;
+
+    @Before
+    public void setUp() throws Exception {
+        this.release = new CountDownLatch(1);
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(10, TimeUnit.SECONDS);
+                return new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}");
+            }
+        });
+        this.server.start();
+        this.http = new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(Post.class)
+                .isRequestCoalescingEnabled(true)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.release.countDown();
+        this.server.shutdown();
+    }
+
+    @Test
+    public void concurrentGets_sendSingleRequest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLS);
+        List<Future<Post>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            futures.add(executor.submit(new Callable<Post>() {
+                @Override
+                public Post call() throws Exception {
+                    return http.get(1);
+                }
+            }));
+        }
+        this.awaitFollowers(CALLS - 1);
+        this.release.countDown();
+
+        for (Future<Post> future : futures) {
+            assertEquals(1, future.get(10, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+
+        assertEquals(1, this.server.getRequestCount());
+        assertEquals(1, this.http.getSingleFlight().getLeaderCount());
+        assertEquals(0, this.http.getSingleFlight().getInFlightCount());
+    }
+
+    @Test
+    public void cancellingLeader_doesNotFailFollowers() throws Exception {
+        HttpFuture<Post> leader = this.http.getAsync(1);
+        this.server.takeRequest(10, TimeUnit.SECONDS);
+
+        List<HttpFuture<Post>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLS; i++) {
+            followers.add(this.http.getAsync(1));
+        }
+        assertTrue(leader.cancel(true));
+        this.release.countDown();
+
+        for (HttpFuture<Post> follower : followers) {
+            assertEquals(1, follower.get(10, TimeUnit.SECONDS).getId());
+        }
+        assertTrue(leader.isCancelled());
+        assertEquals(1, this.server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingEveryCall_releasesTheRequest() throws Exception {
+        HttpFuture<Post> first = this.http.getAsync(1);
+        HttpFuture<Post> second = this.http.getAsync(1);
+        this.server.takeRequest(10, TimeUnit.SECONDS);
+
+        first.cancel(true);
+        assertEquals(1, this.http.getSingleFlight().getInFlightCount());
+        second.cancel(true);
+        assertEquals(0, this.http.getSingleFlight().getInFlightCount());
+
+        this.release.countDown();
+        HttpFuture<Post> next = this.http.getAsync(1);
+        assertEquals(1, next.get(10, TimeUnit.SECONDS).getId());
+        assertFalse(next.isCancelled());
+        assertEquals(2, this.server.getRequestCount());
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (this.http.getSingleFlight().getFollowerCount() < followers
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
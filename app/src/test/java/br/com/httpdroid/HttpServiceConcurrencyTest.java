@@ -0,0 +1,101 @@
+package br.com.httpdroid;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Garante que uma única instância de HttpService pode ser utilizada por várias threads
+ * sem que o resultado de uma chamada vaze para outra.
+ */
+public class HttpServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 50;
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                int id = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+                return new MockResponse()
+                        .setResponseCode(200 + (id % 3))
+                        .setHeader("X-Id", String.valueOf(id))
+                        .setBody("{\"id\":" + id + ",\"title\":\"post " + id + "\"}");
+            }
+        });
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void sharedInstance_hasNoCrossTalkBetweenCalls() throws Exception {
+        final HttpService<Post> http = new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(Post.class)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    int checked = 0;
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        int id = thread * CALLS_PER_THREAD + i + 1;
+
+                        HttpResult<Post> result = http.getForResult(id);
+                        assertEquals(id, result.getBody().getId());
+                        assertEquals(200 + (id % 3), result.getStatusCode());
+                        assertEquals(String.valueOf(id), result.getHeader("X-Id", null));
+
+                        Post post = http.get(id);
+                        assertEquals(id, post.getId());
+                        assertEquals(200 + (id % 3), http.getStatusCode());
+                        assertEquals(String.valueOf(id), http.getHeader("X-Id", null));
+                        checked++;
+                    }
+                    return checked;
+                }
+            }));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * CALLS_PER_THREAD, total);
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.httpdroid.breaker;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Transições do circuito: CLOSED -> OPEN pela taxa de falhas, OPEN -> HALF_OPEN após o tempo
+ * aberto e HALF_OPEN -> CLOSED / OPEN pelas chamadas de teste.
+ */
+public class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    public void failureRate_opensTheCircuit() {
+        CircuitBreaker breaker = newBreaker();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.tryAcquire());
+            assertNull(breaker.record(i % 2 == 0, 0));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.tryAcquire());
+        CircuitBreaker.Transition transition = breaker.record(true, 0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, transition.from);
+        assertEquals(CircuitBreaker.State.OPEN, transition.to);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    public void successfulProbes_closeTheCircuit() throws Exception {
+        CircuitBreaker breaker = this.openedBreaker();
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(OPEN_NANOS) * 2);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.tryAcquire());
+        assertNull(breaker.tryAcquire());
+
+        assertNull(breaker.record(false, 0));
+        CircuitBreaker.Transition transition = breaker.record(false, 0);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, transition.from);
+        assertEquals(CircuitBreaker.State.CLOSED, transition.to);
+    }
+
+    @Test
+    public void failedProbe_reopensTheCircuit() throws Exception {
+        CircuitBreaker breaker = this.openedBreaker();
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(OPEN_NANOS) * 2);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.tryAcquire());
+        CircuitBreaker.Transition transition = breaker.record(true, 0);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, transition.from);
+        assertEquals(CircuitBreaker.State.OPEN, transition.to);
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    public void releasedPermit_canBeUsedAgain() throws Exception {
+        CircuitBreaker breaker = this.openedBreaker();
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(OPEN_NANOS) * 2);
+
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        assertNull(breaker.tryAcquire());
+        breaker.releasePermit();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.tryAcquire());
+    }
+
+    @Test
+    public void slowCalls_openTheCircuit() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 100, TimeUnit.MILLISECONDS.toNanos(100), 50,
+                OPEN_NANOS, 2);
+
+        breaker.record(false, TimeUnit.MILLISECONDS.toNanos(10));
+        breaker.record(false, TimeUnit.MILLISECONDS.toNanos(10));
+        breaker.record(false, TimeUnit.MILLISECONDS.toNanos(200));
+        CircuitBreaker.Transition transition = breaker.record(false, TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertEquals(CircuitBreaker.State.OPEN, transition.to);
+    }
+
+    /**
+     * Janela de 4 chamadas, abre com 50% de falhas e libera 2 chamadas de teste
+     */
+    private static CircuitBreaker newBreaker() {
+        return new CircuitBreaker(4, 4, 50, 0, 100, OPEN_NANOS, 2);
+    }
+
+    private CircuitBreaker openedBreaker() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.record(true, 0);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.httpdroid.breaker;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ajuste AIMD do limite: cresce com respostas rápidas enquanto utilizado, é reduzido por
+ * falhas e latência alta, e a fila só é utilizada pelas chamadas síncronas.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void fastResponses_growTheLimitWhenUtilized() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10, 0, 0);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.acquire(false));
+        }
+        for (int i = 0; i < 8; i++) {
+            limiter.onSample(RTT, false);
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void idleLimit_doesNotGrow() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 20, 0, 0);
+        assertTrue(limiter.acquire(false));
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(RTT, false);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void dropsAndSlowResponses_decreaseTheLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 2, 20, 0, 0);
+        limiter.acquire(false);
+        limiter.onSample(RTT, false);
+
+        assertEquals(10, limiter.onSample(RTT, true));
+        assertEquals(9, limiter.getLimit());
+        limiter.onSample(RTT * 3, false);
+        assertEquals(8, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(RTT, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void slotIsHeldUntilReleased() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, 0, 0);
+        assertTrue(limiter.acquire(false));
+        limiter.onSample(RTT, false);
+
+        assertFalse(limiter.acquire(false));
+        limiter.release();
+        assertTrue(limiter.acquire(false));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void onlyQueuedCallsWaitForASlot() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, 1, TimeUnit.SECONDS.toNanos(5));
+        assertTrue(limiter.acquire(false));
+        assertFalse(limiter.acquire(false));
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ignored) {
+                }
+                limiter.release();
+            }
+        }).start();
+        assertTrue(limiter.acquire(true));
+        assertEquals(1, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.httpdroid.cache;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Revalidação com ETag: a resposta 304 retorna o objeto já desserializado da resposta anterior.
+ */
+public class ConditionalCacheTest {
+
+    private static final String BODY = "{\"id\":1,\"title\":\"post 1\"}";
+
+    private MockWebServer server;
+    private ConditionalCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.cache = new ConditionalCache(10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void notModified_returnsTheStoredBody() throws Exception {
+        HttpService<Post> http = this.newService(Post.class);
+        this.server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(BODY));
+        this.server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        HttpResult<Post> first = http.getForResult(1);
+        HttpResult<Post> second = http.getForResult(1);
+
+        assertNull(this.server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"v1\"", this.server.takeRequest().getHeader("If-None-Match"));
+        assertFalse(first.isNotModified());
+        assertTrue(second.isNotModified());
+        assertTrue(second.isSuccessful());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(1, this.cache.getModifiedCount());
+        assertEquals(1, this.cache.getNotModifiedCount());
+    }
+
+    @Test
+    public void modified_replacesTheStoredBody() throws Exception {
+        HttpService<Post> http = this.newService(Post.class);
+        this.server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(BODY));
+        this.server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("{\"id\":1,\"title\":\"novo\"}"));
+        this.server.enqueue(new MockResponse().setResponseCode(304));
+
+        http.getForResult(1);
+        assertEquals("novo", http.getForResult(1).getBody().getTitle());
+        assertEquals("novo", http.getForResult(1).getBody().getTitle());
+
+        this.server.takeRequest();
+        this.server.takeRequest();
+        assertEquals("\"v2\"", this.server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void servicesSharingTheCache_keepTheirOwnTypes() throws Exception {
+        HttpService<Post> posts = this.newService(Post.class);
+        HttpService<Map<String, Object>> maps =
+                this.newService(new TypeToken<Map<String, Object>>() {}.getType());
+        this.server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(BODY));
+        this.server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(BODY));
+
+        assertEquals(1, posts.get(1).getId());
+        assertEquals("post 1", maps.get(1).get("title"));
+
+        this.server.takeRequest();
+        assertNull(this.server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    private <T> HttpService<T> newService(Type type) {
+        return new HttpService<T>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(type)
+                .addConditionalCache(this.cache)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.httpdroid.cache;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Acertos, expiração e invalidação do cache em memória integrado ao HttpService.
+ */
+public class MemoryCacheTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}");
+            }
+        });
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void repeatedGet_isServedFromMemory() throws Exception {
+        MemoryCache cache = new MemoryCache(10, 1, TimeUnit.MINUTES);
+        HttpService<Post> http = this.newService(cache, Post.class);
+
+        Post first = http.get(1);
+        Post second = http.get(1);
+
+        assertSame(first, second);
+        assertEquals(1, this.server.getRequestCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void expiredEntry_goesBackToNetwork() throws Exception {
+        MemoryCache cache = new MemoryCache(10, 50, TimeUnit.MILLISECONDS);
+        HttpService<Post> http = this.newService(cache, Post.class);
+
+        http.get(1);
+        Thread.sleep(100);
+        http.get(1);
+
+        assertEquals(2, this.server.getRequestCount());
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void write_invalidatesTheUrl() throws Exception {
+        MemoryCache cache = new MemoryCache(10, 1, TimeUnit.MINUTES);
+        HttpService<Post> http = this.newService(cache, Post.class);
+
+        Post post = http.get(1);
+        http.put(post);
+        http.get(1);
+
+        assertEquals(3, this.server.getRequestCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void servicesSharingTheCache_keepTheirOwnTypes() throws Exception {
+        MemoryCache cache = new MemoryCache(10, 1, TimeUnit.MINUTES);
+        HttpService<Post> posts = this.newService(cache, Post.class);
+        HttpService<Map<String, Object>> maps =
+                this.newService(cache, new TypeToken<Map<String, Object>>() {}.getType());
+
+        assertEquals(1, posts.get(1).getId());
+        assertEquals("post 1", maps.get(1).get("title"));
+        assertEquals(2, this.server.getRequestCount());
+    }
+
+    @Test
+    public void resultStartedBeforeAnInvalidation_isDiscarded() throws Exception {
+        MemoryCache cache = new MemoryCache(10, 1, TimeUnit.MINUTES);
+        HttpResult<Post> result = this.<Post>newService(null, Post.class).getForResult(1);
+        Request request = result.getResponse().request();
+
+        long generation = cache.getGeneration();
+        cache.invalidate(request.url());
+        cache.put(request, Post.class, result, generation);
+        assertNull(cache.get(request, Post.class));
+
+        cache.put(request, Post.class, result, cache.getGeneration());
+        assertSame(result, cache.get(request, Post.class));
+    }
+
+    private <T> HttpService<T> newService(MemoryCache cache, Type type) {
+        return new HttpService<T>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(type)
+                .addMemoryCache(cache)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.httpdroid.compression;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compressão das requisições: corpos pequenos de tamanho conhecido seguem sem alteração e os
+ * demais são comprimidos em streaming.
+ */
+public class CompressionTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private MockWebServer server;
+    private Compression compression;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.compression = new Compression.Builder()
+                .addRequestThreshold(64)
+                .build();
+        this.client = new OkHttpClient.Builder()
+                .addInterceptor(this.compression)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void smallKnownBody_isSentAsIs() throws Exception {
+        this.post(RequestBody.create(JSON, "{\"id\":1}"));
+
+        RecordedRequest recorded = this.server.takeRequest();
+        assertNull(recorded.getHeader("Content-Encoding"));
+        assertEquals("8", recorded.getHeader("Content-Length"));
+        assertEquals("{\"id\":1}", recorded.getBody().readUtf8());
+        assertEquals(1, this.stats().getUncompressedRequestCount());
+    }
+
+    @Test
+    public void largeKnownBody_isGzippedChunked() throws Exception {
+        String json = json(200);
+        this.post(RequestBody.create(JSON, json));
+
+        RecordedRequest recorded = this.server.takeRequest();
+        assertEquals("gzip", recorded.getHeader("Content-Encoding"));
+        assertEquals("chunked", recorded.getHeader("Transfer-Encoding"));
+        assertEquals(json, gunzip(recorded.getBody()));
+
+        CompressionStats stats = this.stats();
+        assertEquals(1, stats.getCompressedRequestCount());
+        assertEquals(json.length(), stats.getRequestBytes());
+        assertEquals(recorded.getBodySize(), stats.getRequestWireBytes());
+    }
+
+    @Test
+    public void unknownLength_isCompressedWithoutMeasuring() throws Exception {
+        final String json = "{\"id\":1}";
+        this.post(new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                sink.writeUtf8(json);
+            }
+        });
+
+        RecordedRequest recorded = this.server.takeRequest();
+        assertEquals("gzip", recorded.getHeader("Content-Encoding"));
+        assertEquals(json, gunzip(recorded.getBody()));
+        assertTrue(this.stats().getRequestWireBytes() > 0);
+    }
+
+    private void post(RequestBody body) throws IOException {
+        this.server.enqueue(new MockResponse().setBody("{}"));
+        Request request = new Request.Builder().url(this.server.url("/posts")).post(body).build();
+        Response response = this.client.newCall(request).execute();
+        response.close();
+    }
+
+    private CompressionStats stats() {
+        assertEquals(1, this.compression.getAllStats().size());
+        return this.compression.getAllStats().get(0);
+    }
+
+    private static String json(int items) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append('}');
+        }
+        return builder.append(']').toString();
+    }
+
+    private static String gunzip(Buffer body) throws IOException {
+        Buffer plain = new Buffer();
+        GzipSource source = new GzipSource(body);
+        while (source.read(plain, 8192) != -1) {
+            // lê até o fim
+        }
+        return plain.readUtf8();
+    }
+}
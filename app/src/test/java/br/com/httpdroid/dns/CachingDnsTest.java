@@ -0,0 +1,174 @@
+package br.com.httpdroid.dns;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Dns;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Testa o cache de DNS com hosts estáticos e um resolvedor falso, sem consultar a rede.
+ */
+public class CachingDnsTest {
+
+    @Test
+    public void staticHost_neverCallsDelegate() throws Exception {
+        CountingDns delegate = new CountingDns(null);
+        CachingDns dns = new CachingDns.Builder()
+                .addDelegate(delegate)
+                .addStaticHost("api.exemplo.com", "10.0.2.2", "::1")
+                .build();
+
+        List<InetAddress> addresses = dns.lookup("API.Exemplo.com");
+
+        assertEquals(2, addresses.size());
+        assertArrayEquals(new byte[]{10, 0, 2, 2}, addresses.get(0).getAddress());
+        assertEquals("api.exemplo.com", addresses.get(0).getHostName());
+        assertEquals(0, delegate.calls.get());
+        assertEquals(1, dns.getHitCount());
+    }
+
+    @Test
+    public void lookup_ignoresDefaultLocale() throws Exception {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            CachingDns dns = new CachingDns.Builder()
+                    .addDelegate(new CountingDns(null))
+                    .addStaticHost("INFO.exemplo.com", "10.0.0.1")
+                    .build();
+
+            assertEquals(1, dns.lookup("info.EXEMPLO.com").size());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void addStaticHost_acceptsOnlyIpLiterals() {
+        assertArrayEquals(new byte[]{(byte) 192, (byte) 168, 0, 1}, CachingDns.parseIpLiteral("192.168.0.1"));
+        assertArrayEquals(address16(0, 0, 0, 0, 0, 0, 0, 1), CachingDns.parseIpLiteral("::1"));
+        assertArrayEquals(address16(0x2001, 0xdb8, 0, 0, 0, 0, 0, 1), CachingDns.parseIpLiteral("[2001:db8::1]"));
+        assertArrayEquals(address16(0, 0, 0, 0, 0, 0xffff, 0x0a00, 0x0202),
+                CachingDns.parseIpLiteral("::ffff:10.0.2.2"));
+
+        for (String invalid : Arrays.asList("exemplo.com", "localhost", "10.0.2", "10.0.2.256", "010.0.0.1",
+                "1:2:3:4:5:6:7:8:9", "1::2::3", "12345::1", "")) {
+            assertNull(invalid, CachingDns.parseIpLiteral(invalid));
+        }
+        try {
+            new CachingDns.Builder().addStaticHost("api.exemplo.com", "localhost");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void concurrentMisses_shareOneLookup() throws Exception {
+        final int calls = 6;
+        final CountDownLatch release = new CountDownLatch(1);
+        CountingDns delegate = new CountingDns(release);
+        final CachingDns dns = new CachingDns.Builder()
+                .addDelegate(delegate)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        try {
+            List<Future<List<InetAddress>>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(new Callable<List<InetAddress>>() {
+                    @Override
+                    public List<InetAddress> call() throws Exception {
+                        return dns.lookup("api.exemplo.com");
+                    }
+                }));
+            }
+            long deadline = System.currentTimeMillis() + 10000;
+            while (dns.getCoalescedCount() < calls - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<List<InetAddress>> future : futures) {
+                assertEquals(1, future.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, delegate.calls.get());
+        assertEquals(calls - 1, dns.getCoalescedCount());
+
+        dns.lookup("api.exemplo.com");
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    public void expiredEntries_arePruned() throws Exception {
+        CountingDns delegate = new CountingDns(null);
+        CachingDns dns = new CachingDns.Builder()
+                .addDelegate(delegate)
+                .addTtl(0, TimeUnit.MILLISECONDS)
+                .addStaleTtl(0, TimeUnit.MILLISECONDS)
+                .build();
+
+        dns.lookup("a.exemplo.com");
+        dns.lookup("b.exemplo.com");
+        dns.lookup("c.exemplo.com");
+
+        assertEquals(1, dns.size());
+        assertEquals(3, delegate.calls.get());
+    }
+
+    private static byte[] address16(int... groups) {
+        byte[] address = new byte[16];
+        for (int i = 0; i < groups.length; i++) {
+            address[i * 2] = (byte) (groups[i] >>> 8);
+            address[i * 2 + 1] = (byte) groups[i];
+        }
+        return address;
+    }
+
+    /**
+     * Resolvedor falso que responde 10.0.0.1 e conta as consultas. Quando há um latch, cada
+     * consulta espera por ele
+     */
+    private static class CountingDns implements Dns {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release;
+
+        private CountingDns(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            this.calls.incrementAndGet();
+            if (this.release != null) {
+                try {
+                    this.release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new UnknownHostException(hostname);
+                }
+            }
+            return Arrays.asList(InetAddress.getByAddress(hostname, new byte[]{10, 0, 0, 1}));
+        }
+    }
+}
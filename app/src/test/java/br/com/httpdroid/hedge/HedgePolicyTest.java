@@ -0,0 +1,187 @@
+package br.com.httpdroid.hedge;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.httpdroid.metrics.LatencyHistogram;
+import br.com.httpdroid.metrics.MetricsEventListener;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Disputa entre a tentativa original e o hedge: vitória, derrota, orçamento e cancelamento.
+ * O atraso do hedge é fixado em 50ms após uma única amostra de latência.
+ */
+public class HedgePolicyTest {
+
+    private static final long HEDGE_DELAY_MILLIS = 50;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long primaryDelayMillis;
+    private volatile long hedgeDelayMillis;
+    private volatile boolean failAfterSample;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // 1: amostra inicial, 2: tentativa original, 3: hedge
+                int number = requests.incrementAndGet();
+                long delay = number == 2 ? primaryDelayMillis : number == 3 ? hedgeDelayMillis : 0;
+                if (number > 1 && failAfterSample) {
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                }
+                return new MockResponse()
+                        .setHeadersDelay(delay, TimeUnit.MILLISECONDS)
+                        .setBody(String.valueOf(number));
+            }
+        });
+        this.server.start();
+        this.client = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void slowPrimary_hedgeWins() throws Exception {
+        HedgePolicy policy = this.newPolicy(1);
+        this.primaryDelayMillis = 2000;
+
+        long start = System.nanoTime();
+        Response response = policy.execute(this.newCall());
+
+        assertEquals("3", response.body().string());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+        assertEquals(1, policy.getFiredCount());
+        assertEquals(1, policy.getWonCount());
+        // O tempo registrado é o da original até ser cancelada, não o do hedge
+        Thread.sleep(HEDGE_DELAY_MILLIS);
+        LatencyHistogram latency = this.latencyOf(policy);
+        assertEquals(2, latency.getCount());
+        assertTrue(latency.getMax() >= TimeUnit.MILLISECONDS.toMicros(HEDGE_DELAY_MILLIS));
+    }
+
+    @Test
+    public void primaryFailure_isRecorded() throws Exception {
+        this.client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+        HedgePolicy policy = this.newPolicy(1);
+        this.failAfterSample = true;
+
+        try {
+            policy.execute(this.newCall()).close();
+            fail("A conexão foi encerrada pelo servidor");
+        } catch (IOException expected) {
+            // esperado
+        }
+
+        assertEquals(2, this.latencyOf(policy).getCount());
+    }
+
+    @Test
+    public void primaryAnswersFirst_hedgeLoses() throws Exception {
+        HedgePolicy policy = this.newPolicy(1);
+        this.primaryDelayMillis = 200;
+        this.hedgeDelayMillis = 2000;
+
+        Response response = policy.execute(this.newCall());
+
+        assertEquals("2", response.body().string());
+        assertEquals(1, policy.getFiredCount());
+        assertEquals(0, policy.getWonCount());
+    }
+
+    @Test
+    public void fastPrimary_cancelsTheScheduledHedge() throws Exception {
+        HedgePolicy policy = this.newPolicy(1);
+
+        Response response = policy.execute(this.newCall());
+        Thread.sleep(HEDGE_DELAY_MILLIS * 3);
+
+        assertEquals("2", response.body().string());
+        assertEquals(0, policy.getFiredCount());
+        assertEquals(2, this.requests.get());
+    }
+
+    @Test
+    public void withoutBudget_noHedgeIsFired() throws Exception {
+        HedgePolicy policy = this.newPolicy(0);
+        this.primaryDelayMillis = 300;
+
+        Response response = policy.execute(this.newCall());
+
+        assertEquals("2", response.body().string());
+        assertEquals(0, policy.getFiredCount());
+        assertEquals(1, policy.getBudgetExhaustedCount());
+    }
+
+    @Test
+    public void cancelledCall_doesNotFireTheHedge() throws Exception {
+        HedgePolicy policy = this.newPolicy(1);
+        this.primaryDelayMillis = 2000;
+
+        final CountDownLatch failed = new CountDownLatch(1);
+        Call call = this.newCall();
+        policy.enqueue(call, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failed.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+        call.cancel();
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(HEDGE_DELAY_MILLIS * 3);
+        assertEquals(0, policy.getFiredCount());
+    }
+
+    /**
+     * Cria a política e registra a amostra de latência necessária para o primeiro hedge
+     */
+    private HedgePolicy newPolicy(double budget) throws IOException {
+        HedgePolicy policy = new HedgePolicy.Builder()
+                .addMinSamples(1)
+                .addDelayBounds(HEDGE_DELAY_MILLIS, HEDGE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                .addBudget(budget)
+                .build();
+        policy.execute(this.newCall()).close();
+        return policy;
+    }
+
+    private LatencyHistogram latencyOf(HedgePolicy policy) {
+        return policy.getLatency(MetricsEventListener.endpointOf("GET", this.server.url("/posts")));
+    }
+
+    private Call newCall() {
+        return this.client.newCall(new Request.Builder().url(this.server.url("/posts")).build());
+    }
+}
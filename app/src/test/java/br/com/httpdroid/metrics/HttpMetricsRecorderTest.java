@@ -0,0 +1,84 @@
+package br.com.httpdroid.metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Mede chamadas reais contra o MockWebServer e confere as medições acumuladas do endpoint.
+ */
+public class HttpMetricsRecorderTest {
+
+    private MockWebServer server;
+    private HttpMetricsRecorder recorder;
+    private HttpService<Post> http;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.recorder = new HttpMetricsRecorder();
+        this.http = new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(Post.class)
+                .addMetrics(this.recorder)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void successfulCalls_recordLatencyAndReuse() throws Exception {
+        this.server.enqueue(new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}"));
+        this.server.enqueue(new MockResponse().setBody("{\"id\":2,\"title\":\"post 2\"}"));
+
+        this.http.get(1);
+        this.http.get(2);
+
+        EndpointMetrics metrics = this.endpoint();
+        assertEquals(2, metrics.getCallCount());
+        assertEquals(0, metrics.getFailureCount());
+        assertEquals(2, metrics.getLatency().getCount());
+        assertEquals(2, metrics.getTimeToFirstByte().getCount());
+        assertEquals(2, metrics.getDecodeTime().getCount());
+        assertEquals(0.5, metrics.getConnectionReuseRatio(), 0.001);
+    }
+
+    @Test
+    public void failedCall_doesNotRecordTimeToFirstByte() throws Exception {
+        this.server.enqueue(new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}"));
+        this.server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+
+        this.http.get(1);
+        try {
+            this.http.get(2);
+            fail();
+        } catch (IOException expected) {
+        }
+
+        EndpointMetrics metrics = this.endpoint();
+        assertEquals(2, metrics.getCallCount());
+        assertEquals(1, metrics.getFailureCount());
+        assertEquals(2, metrics.getLatency().getCount());
+        assertEquals(1, metrics.getTimeToFirstByte().getCount());
+    }
+
+    private EndpointMetrics endpoint() {
+        return this.recorder.getEndpoint(MetricsEventListener.endpointOf("GET", this.server.url("/posts/1")));
+    }
+}
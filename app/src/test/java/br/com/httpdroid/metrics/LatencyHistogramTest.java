@@ -0,0 +1,64 @@
+package br.com.httpdroid.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica os percentis do histograma dentro do erro relativo das faixas (~6%).
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentiles_withinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean(), 0.001);
+        assertNear(5000, histogram.getPercentile(50));
+        assertNear(9500, histogram.getPercentile(95));
+        assertNear(9900, histogram.getPercentile(99));
+        assertEquals(10000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 0; micros < 10; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(9, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void negativeNanos_areIgnored() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-1);
+        histogram.recordNanos(5000000);
+
+        assertEquals(1, histogram.getCount());
+        assertNear(5000, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void reset_clearsSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    private static void assertNear(long expected, long actual) {
+        assertTrue("esperado ~" + expected + ", obtido " + actual,
+                Math.abs(actual - expected) <= expected * 0.0625);
+    }
+}
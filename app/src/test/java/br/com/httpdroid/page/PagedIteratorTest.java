@@ -0,0 +1,178 @@
+package br.com.httpdroid.page;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.interfaces.IIdExtractor;
+import br.com.httpdroid.interfaces.IPaginationStrategy;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Percorre listagens paginadas servidas pelo MockWebServer com cada estratégia, e garante que
+ * falhas de uma página chegam como PageLoadException.
+ */
+public class PagedIteratorTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void pageNumber_stopsOnShortPage() throws Exception {
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                int page = Integer.parseInt(request.getRequestUrl().queryParameter("page"));
+                if (page == 1) {
+                    return new MockResponse().setBody(posts(1, 2));
+                } else if (page == 2) {
+                    return new MockResponse().setBody(posts(3, 4));
+                }
+                return new MockResponse().setBody(posts(5));
+            }
+        });
+
+        PagedIterator<Post> iterator = this.service(new PageNumberPagination("page", "limit", 2)).paginate();
+
+        assertEquals(ids(1, 2, 3, 4, 5), this.collect(iterator));
+        assertEquals(3, iterator.getPageCount());
+        assertTrue(iterator.isClosed());
+    }
+
+    @Test
+    public void cursorFromHeader_followsCursorUntilMissing() throws Exception {
+        this.server.enqueue(new MockResponse().setBody(posts(1, 2)).setHeader("X-Next-Cursor", "abc"));
+        this.server.enqueue(new MockResponse().setBody(posts(3)));
+
+        PagedIterator<Post> iterator = this.service(CursorPagination.fromHeader("after", "X-Next-Cursor")).paginate();
+
+        assertEquals(ids(1, 2, 3), this.collect(iterator));
+        this.server.takeRequest();
+        assertEquals("abc", this.server.takeRequest().getRequestUrl().queryParameter("after"));
+    }
+
+    @Test
+    public void cursorFromLastItem_usesExtractor() throws Exception {
+        this.server.enqueue(new MockResponse().setBody(posts(1, 2)));
+        this.server.enqueue(new MockResponse().setBody("[]"));
+
+        IPaginationStrategy strategy = CursorPagination.fromLastItem("after", new IIdExtractor<Post>() {
+            @Override
+            public String getId(Post post) {
+                return String.valueOf(post.getId());
+            }
+        });
+        PagedIterator<Post> iterator = this.service(strategy).paginate();
+
+        assertEquals(ids(1, 2), this.collect(iterator));
+        this.server.takeRequest();
+        assertEquals("2", this.server.takeRequest().getRequestUrl().queryParameter("after"));
+    }
+
+    @Test
+    public void linkHeader_resolvesRelativeNext() throws Exception {
+        this.server.enqueue(new MockResponse().setBody(posts(1))
+                .setHeader("Link", "</posts?page=2>; rel=\"next\", </posts?page=9>; rel=\"last\""));
+        this.server.enqueue(new MockResponse().setBody(posts(2)));
+
+        PagedIterator<Post> iterator = this.service(new LinkHeaderPagination()).paginate();
+
+        assertEquals(ids(1, 2), this.collect(iterator));
+        this.server.takeRequest();
+        assertEquals("/posts?page=2", this.server.takeRequest().getPath());
+    }
+
+    @Test
+    public void httpError_throwsWithStatus() throws Exception {
+        this.server.enqueue(new MockResponse().setBody(posts(1, 2)).setHeader("X-Next-Cursor", "abc"));
+        this.server.enqueue(new MockResponse().setResponseCode(404));
+
+        PagedIterator<Post> iterator = this.service(CursorPagination.fromHeader("after", "X-Next-Cursor")).paginate();
+        try {
+            this.collect(iterator);
+            fail();
+        } catch (PageLoadException e) {
+            assertEquals(404, e.getStatusCode());
+            assertNull(e.getCause());
+        }
+        assertTrue(iterator.isClosed());
+    }
+
+    @Test
+    public void networkError_throwsWithCause() throws Exception {
+        this.server.enqueue(new MockResponse().setBody(posts(1, 2)).setHeader("X-Next-Cursor", "abc"));
+        this.server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+
+        PagedIterator<Post> iterator = this.service(CursorPagination.fromHeader("after", "X-Next-Cursor")).paginate();
+        try {
+            this.collect(iterator);
+            fail();
+        } catch (PageLoadException e) {
+            assertEquals(-1, e.getStatusCode());
+            assertNotNull(e.getCause());
+        }
+        assertTrue(iterator.isClosed());
+    }
+
+    private HttpService<Post> service(IPaginationStrategy strategy) {
+        return new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(new TypeToken<List<Post>>() {}.getType())
+                .addPagination(strategy)
+                .build();
+    }
+
+    private List<Integer> collect(PagedIterator<Post> iterator) {
+        List<Integer> ids = new ArrayList<>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().getId());
+        }
+        return ids;
+    }
+
+    private static List<Integer> ids(int... values) {
+        List<Integer> ids = new ArrayList<>();
+        for (int value : values) {
+            ids.add(value);
+        }
+        return ids;
+    }
+
+    private static String posts(int... ids) {
+        StringBuilder json = new StringBuilder("[");
+        for (int id : ids) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id).append(",\"title\":\"post ").append(id).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+}
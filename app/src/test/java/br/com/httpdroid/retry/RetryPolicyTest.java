@@ -0,0 +1,170 @@
+package br.com.httpdroid.retry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.async.HttpFuture;
+import br.com.httpdroid.breaker.CallRejectedException;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Classificação das falhas, intervalos, Retry-After, orçamento e retentativas assíncronas
+ * agendadas fora do Dispatcher.
+ */
+public class RetryPolicyTest {
+
+    private static final Request GET = new Request.Builder().url("http://localhost/posts").build();
+    private static final Request POST = new Request.Builder().url("http://localhost/posts")
+            .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+            .build();
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void classifiesFailures() {
+        RetryPolicy policy = new RetryPolicy.Builder().build();
+
+        assertTrue(policy.isRetryable(GET, new SocketTimeoutException()));
+        assertFalse(policy.isRetryable(POST, new SocketTimeoutException()));
+        assertTrue(policy.isRetryable(POST, new ConnectException()));
+        assertFalse(policy.isRetryable(GET, new CallRejectedException("localhost:80", CallRejectedException.CIRCUIT_OPEN)));
+
+        assertTrue(policy.isRetryable(GET, response(GET, 502, null)));
+        assertFalse(policy.isRetryable(POST, response(POST, 502, null)));
+        assertTrue(policy.isRetryable(POST, response(POST, 503, null)));
+        assertFalse(policy.isRetryable(GET, response(GET, 500, null)));
+    }
+
+    @Test
+    public void backoff_staysWithinBounds() {
+        RetryPolicy exact = new RetryPolicy.Builder()
+                .addBackoff(100, 1000, TimeUnit.MILLISECONDS)
+                .addJitter(0)
+                .build();
+        assertEquals(100, exact.backoff(1));
+        assertEquals(400, exact.backoff(3));
+        assertEquals(1000, exact.backoff(10));
+        assertEquals(1000, exact.backoff(100));
+
+        RetryPolicy jittered = new RetryPolicy.Builder()
+                .addBackoff(100, 1000, TimeUnit.MILLISECONDS)
+                .addJitter(0.5)
+                .build();
+        for (int i = 0; i < 1000; i++) {
+            long delay = jittered.backoff(2);
+            assertTrue(delay >= 100 && delay <= 200);
+        }
+    }
+
+    @Test
+    public void retryAfter_acceptsSecondsAndHttpDates() {
+        long inOneMinute = System.currentTimeMillis() + 60000;
+
+        assertEquals(5000, RetryPolicy.retryAfterMillis(response(GET, 503, "5")));
+        assertEquals(0, RetryPolicy.retryAfterMillis(response(GET, 503, "invalido")));
+        assertEquals(0, RetryPolicy.retryAfterMillis(response(GET, 503, null)));
+        for (String pattern : new String[]{"EEE, dd MMM yyyy HH:mm:ss zzz", "EEEE, dd-MMM-yy HH:mm:ss zzz",
+                "EEE MMM d HH:mm:ss yyyy"}) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            long delay = RetryPolicy.retryAfterMillis(response(GET, 503, format.format(new Date(inOneMinute))));
+            assertTrue(pattern, delay > 55000 && delay <= 60000);
+        }
+    }
+
+    @Test
+    public void budget_rejectsRetriesWhenExhausted() {
+        RetryBudget budget = new RetryBudget(0.5, 0);
+        assertFalse(budget.tryRetry());
+
+        budget.onRequest();
+        budget.onRequest();
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        assertEquals(1, budget.getRetryCount());
+        assertEquals(2, budget.getRejectedCount());
+    }
+
+    @Test
+    public void asyncRetry_isScheduledOutsideTheDispatcher() throws Exception {
+        HttpService<Post> http = this.newService();
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}"));
+
+        assertEquals(1, http.getAsync(1).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2, this.server.getRequestCount());
+    }
+
+    @Test
+    public void cancelledFuture_stopsPendingRetry() throws Exception {
+        HttpService<Post> http = this.newService();
+        this.server.enqueue(new MockResponse().setResponseCode(503));
+        this.server.enqueue(new MockResponse().setBody("{\"id\":1,\"title\":\"post 1\"}"));
+
+        HttpFuture<Post> future = http.getAsync(1);
+        this.server.takeRequest(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        future.cancel(true);
+        Thread.sleep(500);
+
+        assertTrue(future.isCancelled());
+        assertEquals(1, this.server.getRequestCount());
+    }
+
+    private HttpService<Post> newService() {
+        return new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("posts")
+                .addReturnType(Post.class)
+                .addRetryPolicy(new RetryPolicy.Builder()
+                        .addBackoff(200, 200, TimeUnit.MILLISECONDS)
+                        .addJitter(0)
+                        .build())
+                .build();
+    }
+
+    private static Response response(Request request, int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("");
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+        return builder.build();
+    }
+}
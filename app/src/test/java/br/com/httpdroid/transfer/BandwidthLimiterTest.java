@@ -0,0 +1,29 @@
+package br.com.httpdroid.transfer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica que o limite de banda espera o tempo proporcional aos bytes já reservados.
+ */
+public class BandwidthLimiterTest {
+
+    @Test
+    public void acquire_waitsForReservedBytes() throws Exception {
+        BandwidthLimiter limiter = new BandwidthLimiter(100000);
+
+        long start = System.nanoTime();
+        limiter.acquire(50000);
+        limiter.acquire(50000);
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        // O primeiro bloco passa direto, o segundo espera 500ms
+        assertTrue("esperou " + elapsedMillis + "ms", elapsedMillis >= 450 && elapsedMillis < 2000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroRate_isRejected() {
+        new BandwidthLimiter(0);
+    }
+}
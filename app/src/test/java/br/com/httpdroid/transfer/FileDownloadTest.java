@@ -0,0 +1,290 @@
+package br.com.httpdroid.transfer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.httpdroid.HttpService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.GzipSink;
+import okio.Okio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Downloads contra um servidor que respeita Range e If-Range e que comprime com gzip quando o
+ * cliente aceita: retomada, reinício após 200 ou 416, trechos paralelos com checksum e
+ * cancelamento.
+ */
+public class FileDownloadTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] CONTENT = randomBytes(64 * 1024);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private final CopyOnWriteArrayList<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+
+    /**
+     * Respostas especiais para as próximas requisições GET, na ordem. Quando vazia o servidor
+     * responde normalmente
+     */
+    private final CopyOnWriteArrayList<MockResponse> overrides = new CopyOnWriteArrayList<>();
+    private final AtomicInteger truncateRanges = new AtomicInteger();
+
+    private File target;
+    private File part;
+    private File validator;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                return serve(request);
+            }
+        });
+        this.server.start();
+        this.target = new File(this.folder.getRoot(), "arquivo.bin");
+        this.part = new File(this.target.getPath() + ".part");
+        this.validator = new File(this.target.getPath() + ".part.validator");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void interruptedDownload_resumesOverIdentityEncoding() throws Exception {
+        this.overrides.add(this.representation(null)
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        File file = this.service().newDownload(this.target).execute();
+
+        assertArrayEquals(CONTENT, Okio.buffer(Okio.source(file)).readByteArray());
+        assertEquals(2, this.requests.size());
+        RecordedRequest resumed = this.requests.get(1);
+        assertTrue(resumed.getHeader("Range").startsWith("bytes="));
+        assertEquals(ETAG, resumed.getHeader("If-Range"));
+        for (RecordedRequest request : this.requests) {
+            assertEquals("identity", request.getHeader("Accept-Encoding"));
+        }
+        assertFalse(this.part.exists());
+        assertFalse(this.validator.exists());
+    }
+
+    @Test
+    public void serverIgnoringRange_restartsFromZero() throws Exception {
+        this.writePartial(new byte[1000]);
+        this.overrides.add(this.representation(null));
+
+        File file = this.service().newDownload(this.target).execute();
+
+        assertArrayEquals(CONTENT, Okio.buffer(Okio.source(file)).readByteArray());
+        assertEquals("bytes=1000-", this.requests.get(0).getHeader("Range"));
+    }
+
+    @Test
+    public void rangeNotSatisfiable_discardsPartial() throws Exception {
+        this.writePartial(new byte[CONTENT.length + 10]);
+        this.overrides.add(new MockResponse().setResponseCode(416));
+
+        File file = this.service().newDownload(this.target).execute();
+
+        assertArrayEquals(CONTENT, Okio.buffer(Okio.source(file)).readByteArray());
+        assertEquals(2, this.requests.size());
+        assertNull(this.requests.get(1).getHeader("Range"));
+    }
+
+    @Test
+    public void segmentedDownload_verifiesChecksum() throws Exception {
+        File file = this.service().newDownload(this.target)
+                .addParallelSegments(4, 1024)
+                .addChecksum("SHA-256", sha256(CONTENT))
+                .execute();
+
+        assertArrayEquals(CONTENT, Okio.buffer(Okio.source(file)).readByteArray());
+        assertEquals("HEAD", this.requests.get(0).getMethod());
+        assertEquals(5, this.requests.size());
+        for (RecordedRequest request : this.requests) {
+            assertEquals("identity", request.getHeader("Accept-Encoding"));
+        }
+    }
+
+    @Test
+    public void wrongChecksum_deletesPartial() throws Exception {
+        try {
+            this.service().newDownload(this.target)
+                    .addParallelSegments(4, 1024)
+                    .addChecksum("SHA-256", sha256(new byte[1]))
+                    .execute();
+            fail();
+        } catch (IOException expected) {
+        }
+        assertFalse(this.target.exists());
+        assertFalse(this.part.exists());
+    }
+
+    @Test
+    public void truncatedSegments_countAsFailures() throws Exception {
+        this.truncateRanges.set(Integer.MAX_VALUE);
+        try {
+            this.service().newDownload(this.target)
+                    .addParallelSegments(2, 1024)
+                    .addMaxRetries(1)
+                    .execute();
+            fail();
+        } catch (IOException expected) {
+        }
+        // HEAD + no máximo 2 tentativas por trecho
+        assertTrue(this.requests.size() <= 5);
+    }
+
+    @Test
+    public void cancel_keepsPartialFile() throws Exception {
+        this.overrides.add(this.representation(null).throttleBody(4096, 100, TimeUnit.MILLISECONDS));
+
+        FileDownload download = this.service().newDownload(this.target);
+        download.executeAsync();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (this.part.length() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        download.cancel();
+        Thread.sleep(300);
+
+        assertTrue(this.part.length() > 0);
+        assertTrue(this.part.length() < CONTENT.length);
+        assertFalse(this.target.exists());
+        assertEquals(ETAG, Okio.buffer(Okio.source(this.validator)).readUtf8());
+    }
+
+    private HttpService<Object> service() {
+        return new HttpService<Object>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("arquivo")
+                .addReturnType(Object.class)
+                .build();
+    }
+
+    /**
+     * Servidor que comprime quando o cliente aceita gzip. O Range se refere à representação
+     * enviada, como em um servidor real
+     */
+    private MockResponse serve(RecordedRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        String encoding = acceptEncoding != null && acceptEncoding.contains("gzip") ? "gzip" : null;
+        byte[] bytes = "gzip".equals(encoding) ? gzip(CONTENT) : CONTENT;
+
+        if ("HEAD".equals(request.getMethod())) {
+            MockResponse response = new MockResponse()
+                    .setHeader("ETag", ETAG)
+                    .setHeader("Accept-Ranges", "bytes")
+                    .setHeader("Content-Length", bytes.length);
+            if (encoding != null) {
+                response.setHeader("Content-Encoding", encoding);
+            }
+            return response;
+        }
+        if (!this.overrides.isEmpty()) {
+            return this.overrides.remove(0);
+        }
+        String range = request.getHeader("Range");
+        if (range == null) {
+            return this.representation(encoding);
+        }
+
+        String[] bounds = range.substring("bytes=".length()).split("-", -1);
+        int start = Integer.parseInt(bounds[0]);
+        int end = bounds[1].isEmpty() ? bytes.length - 1 : Integer.parseInt(bounds[1]);
+        if (start >= bytes.length) {
+            return new MockResponse().setResponseCode(416);
+        }
+        int length = end - start + 1;
+        if (this.truncateRanges.getAndDecrement() > 0) {
+            length = 1;
+        }
+        MockResponse response = new MockResponse()
+                .setResponseCode(206)
+                .setHeader("ETag", ETAG)
+                .setHeader("Content-Range", "bytes " + start + "-" + end + "/" + bytes.length)
+                .setBody(new Buffer().write(bytes, start, length));
+        if (encoding != null) {
+            response.setHeader("Content-Encoding", encoding);
+        }
+        return response;
+    }
+
+    private MockResponse representation(String encoding) {
+        MockResponse response = new MockResponse()
+                .setHeader("ETag", ETAG)
+                .setHeader("Accept-Ranges", "bytes")
+                .setBody(new Buffer().write("gzip".equals(encoding) ? gzip(CONTENT) : CONTENT));
+        if (encoding != null) {
+            response.setHeader("Content-Encoding", encoding);
+        }
+        return response;
+    }
+
+    private void writePartial(byte[] bytes) throws IOException {
+        okio.BufferedSink sink = Okio.buffer(Okio.sink(this.part));
+        sink.write(bytes);
+        sink.close();
+        sink = Okio.buffer(Okio.sink(this.validator));
+        sink.writeUtf8(ETAG);
+        sink.close();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        try {
+            Buffer buffer = new Buffer();
+            GzipSink sink = new GzipSink(buffer);
+            sink.write(new Buffer().write(bytes), bytes.length);
+            sink.close();
+            return buffer.readByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(1).nextBytes(bytes);
+        return Arrays.copyOf(bytes, size);
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.httpdroid.transfer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.httpdroid.HttpResult;
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.interfaces.IProgressListener;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Upload em blocos contra um servidor que guarda os bytes recebidos e responde 308 com o
+ * Range confirmado, simulando falhas no meio de um bloco.
+ */
+public class ResumableUploadTest {
+
+    private static final int SIZE = 10000;
+    private static final int CHUNK = 4000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private final CopyOnWriteArrayList<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Buffer stored = new Buffer();
+
+    /**
+     * O bloco que começa neste byte é guardado apenas pela metade e a conexão é derrubada, uma vez
+     */
+    private final AtomicLong failAt = new AtomicLong(-1);
+
+    /**
+     * Quando verdadeiro o servidor descarta os blocos e nunca confirma bytes novos
+     */
+    private volatile boolean stalled = false;
+
+    private byte[] content;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                return serve(request);
+            }
+        });
+        this.server.start();
+
+        this.content = new byte[SIZE];
+        new Random(1).nextBytes(this.content);
+        this.file = this.folder.newFile("foto.jpg");
+        BufferedSink sink = Okio.buffer(Okio.sink(this.file));
+        sink.write(this.content);
+        sink.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    public void failedChunk_resumesFromConfirmedOffset() throws Exception {
+        this.failAt.set(CHUNK);
+        final long[] progress = new long[1];
+
+        ResumableUpload<Post> upload = this.service().newResumableUpload(this.file)
+                .addMaxRetries(3, 10)
+                .addProgressListener(new IProgressListener() {
+                    @Override
+                    public void onProgress(long bytesTransferred, long totalBytes, long bytesPerSecond) {
+                        progress[0] = bytesTransferred;
+                    }
+                });
+        HttpResult<Post> result = upload.execute();
+
+        assertEquals(1, result.getBody().getId());
+        assertArrayEquals(this.content, this.stored.snapshot().toByteArray());
+        assertEquals(SIZE, upload.getUploadedBytes());
+        assertEquals(SIZE, progress[0]);
+
+        // POST, bloco 1, bloco 2 (falha na metade), consulta e um bloco a partir do byte confirmado
+        assertEquals(5, this.requests.size());
+        assertEquals("bytes */" + SIZE, this.requests.get(3).getHeader("Content-Range"));
+        assertEquals("bytes 6000-9999/" + SIZE, this.requests.get(4).getHeader("Content-Range"));
+    }
+
+    @Test
+    public void storedSession_queriesBeforeSending() throws Exception {
+        this.stored.write(this.content, 0, 5000);
+
+        ResumableUpload<Post> upload = this.service().newResumableUpload(this.file)
+                .addSessionUrl(this.server.url("/upload/sessao").toString());
+        upload.execute();
+
+        assertArrayEquals(this.content, this.stored.snapshot().toByteArray());
+        assertEquals("bytes */" + SIZE, this.requests.get(0).getHeader("Content-Range"));
+        assertEquals("bytes 5000-8999/" + SIZE, this.requests.get(1).getHeader("Content-Range"));
+    }
+
+    @Test
+    public void unconfirmedChunks_failAfterRetries() throws Exception {
+        this.stalled = true;
+        try {
+            this.service().newResumableUpload(this.file)
+                    .addMaxRetries(2, 10)
+                    .execute();
+            fail();
+        } catch (IOException expected) {
+        }
+        // POST + bloco inicial + uma tentativa por retentativa
+        assertEquals(4, this.requests.size());
+    }
+
+    private HttpService<Post> service() {
+        return new HttpService<Post>()
+                .baseURL(this.server.url("/").toString())
+                .endPoint("upload")
+                .addReturnType(Post.class)
+                .addUploadChunkSize(CHUNK)
+                .build();
+    }
+
+    private MockResponse serve(RecordedRequest request) {
+        if ("POST".equals(request.getMethod())) {
+            return new MockResponse().setHeader("Location", "/upload/sessao");
+        }
+        String range = request.getHeader("Content-Range").substring("bytes ".length());
+        if (!range.startsWith("*")) {
+            long start = Long.parseLong(range.substring(0, range.indexOf('-')));
+            byte[] body = request.getBody().readByteArray();
+            if (!this.stalled && start == this.stored.size()) {
+                if (this.failAt.compareAndSet(start, -1)) {
+                    this.stored.write(body, 0, body.length / 2);
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                }
+                this.stored.write(body);
+            }
+        }
+        if (this.stored.size() == SIZE) {
+            return new MockResponse().setResponseCode(201).setBody("{\"id\":1,\"title\":\"foto\"}");
+        }
+        MockResponse response = new MockResponse().setResponseCode(308);
+        if (this.stored.size() > 0) {
+            response.setHeader("Range", "bytes=0-" + (this.stored.size() - 1));
+        }
+        return response;
+    }
+}
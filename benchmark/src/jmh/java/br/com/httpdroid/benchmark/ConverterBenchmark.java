@@ -0,0 +1,126 @@
+package br.com.httpdroid.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.converter.GsonConverter;
+import br.com.httpdroid.interfaces.IConverter;
+import br.com.httpdroid.testes.models.Data;
+import br.com.httpdroid.testes.models.Imagem;
+import br.com.httpdroid.testes.models.Post;
+import br.com.httpdroid.testes.models.Usuario;
+import br.com.httpdroid.testes.models.adapters.ModelAdapterFactory;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Compara os conversores na serialização e desserialização dos modelos de testes.models,
+ * sem rede: "reflection" é o GsonConverter padrão e "adapters" o mesmo conversor com os
+ * adapters pré-compilados de ModelAdapterFactory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConverterBenchmark {
+
+    private static final Type POST_LIST = new TypeToken<List<Post>>() {}.getType();
+    private static final Type USUARIO_LIST = new TypeToken<List<Usuario>>() {}.getType();
+
+    @Param({"reflection", "adapters"})
+    public String converterType;
+
+    @Param({"100", "10000"})
+    public int payloadSize;
+
+    private IConverter converter;
+
+    private String postsJson;
+    private String usuariosJson;
+    private String imagemJson;
+    private List<Post> posts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Gson gson = "adapters".equals(this.converterType)
+                ? new GsonBuilder().registerTypeAdapterFactory(new ModelAdapterFactory()).create()
+                : new Gson();
+        this.converter = new GsonConverter(gson);
+
+        this.posts = new ArrayList<>();
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 1; i <= this.payloadSize; i++) {
+            Post post = new Post();
+            post.setId(i);
+            post.setUserId(i % 10);
+            post.setTitle("Post número " + i);
+            post.setBody("Conteúdo do post " + i + ", utilizado para medir a desserialização");
+            this.posts.add(post);
+
+            Usuario usuario = new Usuario();
+            usuario.setId(i);
+            usuario.setName("Usuário " + i);
+            usuario.setJob("Cargo " + (i % 7));
+            usuario.setCreatedAt(new Date(1539820800000L + i));
+            usuarios.add(usuario);
+        }
+
+        Data data = new Data();
+        data.setId("abc123");
+        data.setTitle("Imagem");
+        data.setDescription("Descrição da imagem");
+        data.setSize(204800);
+        data.setLink("https://i.exemplo.com/abc123.png");
+        data.setSuccess(true);
+        data.setStatus("200");
+        Imagem imagem = new Imagem();
+        imagem.setData(data);
+
+        // O JSON de entrada é sempre gerado pelo Gson reflexivo, igual para os dois conversores
+        Gson reference = new Gson();
+        this.postsJson = reference.toJson(this.posts);
+        this.usuariosJson = reference.toJson(usuarios);
+        this.imagemJson = reference.toJson(imagem);
+    }
+
+    @Benchmark
+    public List<Post> readPosts() throws IOException {
+        return this.converter.fromJson(new StringReader(this.postsJson), POST_LIST);
+    }
+
+    @Benchmark
+    public List<Usuario> readUsuarios() throws IOException {
+        return this.converter.fromJson(new StringReader(this.usuariosJson), USUARIO_LIST);
+    }
+
+    @Benchmark
+    public Imagem readImagem() throws IOException {
+        return this.converter.fromJson(new StringReader(this.imagemJson), Imagem.class);
+    }
+
+    @Benchmark
+    public String writePosts() throws IOException {
+        StringWriter writer = new StringWriter();
+        this.converter.toJson(this.posts, POST_LIST, writer);
+        return writer.toString();
+    }
+}
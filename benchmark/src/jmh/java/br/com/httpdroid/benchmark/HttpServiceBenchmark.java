@@ -0,0 +1,164 @@
+package br.com.httpdroid.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import br.com.httpdroid.HttpService;
+import br.com.httpdroid.testes.models.Post;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Criado por agent em 18/10/2026.
+ *
+ * Mede os caminhos principais do HttpService contra um MockWebServer local.
+ * Throughput e SampleTime (percentis de latência) são medidos juntos, e a taxa de alocação
+ * é obtida com o profiler gc (-prof gc), já configurado no build.gradle.
+ * O parâmetro payloadSize é a quantidade de posts retornados por get() e enviados no upload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HttpServiceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int payloadSize;
+
+    private MockWebServer server;
+
+    private HttpService<Post> listService;
+    private HttpService<Post> listWithFiltersService;
+    private HttpService<Post> objectService;
+    private HttpService<Post> uploadService;
+
+    private Post post;
+    private File uploadFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Gson gson = new Gson();
+        List<Post> posts = new ArrayList<>();
+        for (int i = 1; i <= this.payloadSize; i++) {
+            posts.add(newPost(i));
+        }
+        final Buffer listBody = new Buffer().writeUtf8(gson.toJson(posts));
+        final Buffer objectBody = new Buffer().writeUtf8(gson.toJson(newPost(1)));
+
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                Buffer body = request.getPath().startsWith("/posts/") || !"GET".equals(request.getMethod())
+                        ? objectBody
+                        : listBody;
+                return new MockResponse().setBody(body.clone());
+            }
+        });
+        this.server.start();
+        String baseURL = this.server.url("/").toString();
+
+        Map<String, String> filters = new HashMap<>();
+        filters.put("userId", "1");
+        filters.put("title", "título com espaços & símbolos");
+        filters.put("_limit", String.valueOf(this.payloadSize));
+
+        this.listService = new HttpService<Post>()
+                .baseURL(baseURL)
+                .endPoint("posts")
+                .addReturnType(new TypeToken<List<Post>>() {}.getType())
+                .build();
+        this.listWithFiltersService = new HttpService<Post>()
+                .baseURL(baseURL)
+                .endPoint("posts")
+                .addFilters(filters)
+                .addReturnType(new TypeToken<List<Post>>() {}.getType())
+                .build();
+        this.objectService = new HttpService<Post>()
+                .baseURL(baseURL)
+                .endPoint("posts")
+                .addReturnType(Post.class)
+                .build();
+        this.uploadService = new HttpService<Post>()
+                .baseURL(baseURL)
+                .endPoint("upload")
+                .addReturnType(Post.class)
+                .build();
+
+        this.post = newPost(1);
+        this.uploadFile = File.createTempFile("httpdroid-benchmark", ".json");
+        FileOutputStream output = new FileOutputStream(this.uploadFile);
+        try {
+            listBody.copyTo(output);
+        } finally {
+            output.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.server.shutdown();
+        this.uploadFile.delete();
+    }
+
+    @Benchmark
+    public List<Post> getList() throws IOException {
+        return this.listService.get();
+    }
+
+    @Benchmark
+    public List<Post> getListWithFilters() throws IOException {
+        return this.listWithFiltersService.get();
+    }
+
+    @Benchmark
+    public Post getById() throws IOException {
+        return this.objectService.get(1);
+    }
+
+    @Benchmark
+    public Post post() throws IOException {
+        return this.objectService.post(this.post);
+    }
+
+    @Benchmark
+    public Post put() throws Exception {
+        return this.objectService.put(this.post);
+    }
+
+    @Benchmark
+    public Post upload() throws IOException {
+        return this.uploadService.upload(this.uploadFile);
+    }
+
+    private static Post newPost(int id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(id % 10);
+        post.setTitle("Post número " + id);
+        post.setBody("Conteúdo do post " + id + ", utilizado para medir a desserialização");
+        return post;
+    }
+}